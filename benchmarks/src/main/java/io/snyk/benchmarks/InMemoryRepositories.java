@@ -0,0 +1,147 @@
+package io.snyk.benchmarks;
+
+import org.artifactory.fs.ItemInfo;
+import org.artifactory.md.Properties;
+import org.artifactory.repo.RepoPath;
+import org.artifactory.repo.Repositories;
+import org.artifactory.repo.RepositoryConfiguration;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * {@link Repositories} backed by maps, standing in for Artifactory. Only the calls the plugin makes on a download
+ * are answered, anything else fails. The Artifactory types are implemented with dynamic proxies, so that the fake
+ * does not depend on the exact version of the public API.
+ */
+final class InMemoryRepositories {
+
+  private final Map<String, RepositoryConfiguration> configurations = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Set<String>>> properties = new ConcurrentHashMap<>();
+  private final ItemInfo itemInfo = fake(ItemInfo.class, (method, args) ->
+    "getLastModified".equals(method) ? 0L : unsupported(ItemInfo.class, method)
+  );
+  private final Repositories repositories = fake(Repositories.class, this::answer);
+
+  Repositories repositories() {
+    return repositories;
+  }
+
+  InMemoryRepositories addRepository(String repoKey, String packageType, String type) {
+    configurations.put(repoKey, fake(RepositoryConfiguration.class, (method, args) -> {
+      switch (method) {
+        case "getKey":
+          return repoKey;
+        case "getPackageType":
+          return packageType;
+        case "getType":
+          return type;
+        default:
+          return unsupported(RepositoryConfiguration.class, method);
+      }
+    }));
+    return this;
+  }
+
+  static RepoPath repoPath(String repoKey, String path) {
+    String id = repoKey + ":" + path;
+    String name = path.substring(path.lastIndexOf('/') + 1);
+    return fake(RepoPath.class, (method, args) -> {
+      switch (method) {
+        case "getRepoKey":
+          return repoKey;
+        case "getPath":
+          return path;
+        case "getName":
+          return name;
+        case "toPath":
+        case "toString":
+          return id;
+        case "isFile":
+          return true;
+        default:
+          return unsupported(RepoPath.class, method);
+      }
+    });
+  }
+
+  private Object answer(String method, Object[] args) {
+    switch (method) {
+      case "getRepositoryConfiguration":
+        return configurations.get((String) args[0]);
+      case "getItemInfo":
+        return itemInfo;
+      case "getProperties":
+        return snapshot(propertiesOf((RepoPath) args[0]));
+      case "getProperty": {
+        Set<String> values = propertiesOf((RepoPath) args[0]).get((String) args[1]);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+      }
+      case "getPropertyValues":
+        return propertiesOf((RepoPath) args[0]).getOrDefault((String) args[1], Set.of());
+      case "hasProperty":
+        return propertiesOf((RepoPath) args[0]).containsKey((String) args[1]);
+      case "setProperty":
+        propertiesOf((RepoPath) args[0]).put((String) args[1], new LinkedHashSet<>(Arrays.asList((String[]) args[2])));
+        return null;
+      case "deleteProperty":
+        propertiesOf((RepoPath) args[0]).remove((String) args[1]);
+        return null;
+      default:
+        return unsupported(Repositories.class, method);
+    }
+  }
+
+  private Map<String, Set<String>> propertiesOf(RepoPath repoPath) {
+    return properties.computeIfAbsent(repoPath.toString(), path -> new ConcurrentHashMap<>());
+  }
+
+  private static Properties snapshot(Map<String, Set<String>> values) {
+    Map<String, Set<String>> copy = Map.copyOf(values);
+    return fake(Properties.class, (method, args) -> {
+      switch (method) {
+        case "keySet":
+          return copy.keySet();
+        case "get":
+          return copy.get((String) args[0]);
+        case "containsKey":
+          return copy.containsKey((String) args[0]);
+        case "size":
+          return copy.size();
+        case "isEmpty":
+          return copy.isEmpty();
+        default:
+          return unsupported(Properties.class, method);
+      }
+    });
+  }
+
+  private static <T> T fake(Class<T> type, BiFunction<String, Object[], Object> answer) {
+    Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+      switch (method.getName()) {
+        case "equals":
+          return self == args[0];
+        case "hashCode":
+          return System.identityHashCode(self);
+        case "toString":
+          try {
+            return answer.apply("toString", args);
+          } catch (UnsupportedOperationException e) {
+            return type.getSimpleName();
+          }
+        default:
+          return answer.apply(method.getName(), args);
+      }
+    });
+    return type.cast(proxy);
+  }
+
+  private static Object unsupported(Class<?> type, String method) {
+    throw new UnsupportedOperationException(type.getSimpleName() + "." + method);
+  }
+}
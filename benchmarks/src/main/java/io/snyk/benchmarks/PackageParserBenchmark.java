@@ -0,0 +1,67 @@
+package io.snyk.benchmarks;
+
+import io.snyk.plugins.artifactory.scanner.cocoapods.CocoapodsPackage;
+import io.snyk.plugins.artifactory.scanner.npm.NpmPackage;
+import io.snyk.plugins.artifactory.scanner.nuget.NugetPackage;
+import io.snyk.plugins.artifactory.scanner.python.PythonPackage;
+import io.snyk.plugins.artifactory.scanner.rubygems.RubyGemsPackage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of package coordinates from artifact paths, which happens on every download of an artifact that has
+ * not been tested yet. Each operation parses all paths of an ecosystem in {@link PackagePaths}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackageParserBenchmark {
+
+  @Benchmark
+  public void npm(Blackhole blackhole) {
+    for (String path : PackagePaths.NPM) {
+      blackhole.consume(NpmPackage.parse(path));
+    }
+  }
+
+  @Benchmark
+  public void pypi(Blackhole blackhole) {
+    for (String path : PackagePaths.PYPI) {
+      blackhole.consume(PythonPackage.parseFromUrl(path));
+    }
+  }
+
+  @Benchmark
+  public void nuget(Blackhole blackhole) {
+    for (String name : PackagePaths.NUGET) {
+      blackhole.consume(NugetPackage.parse(name));
+    }
+  }
+
+  @Benchmark
+  public void rubygems(Blackhole blackhole) {
+    for (String name : PackagePaths.RUBYGEMS) {
+      blackhole.consume(RubyGemsPackage.parse(name));
+    }
+  }
+
+  @Benchmark
+  public void cocoapods(Blackhole blackhole) {
+    for (String name : PackagePaths.COCOAPODS) {
+      blackhole.consume(CocoapodsPackage.parse(name));
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package io.snyk.benchmarks;
+
+/**
+ * Artifact paths and file names as Artifactory passes them to the package parsers, per ecosystem.
+ */
+final class PackagePaths {
+
+  static final String[] NPM = {
+    "npm:lodash/-/lodash-4.17.15.tgz",
+    "npm:@snyk/protect/-/protect-1.675.0.tgz",
+    "npm:@babel/core/-/core-7.0.0-rc.4.tgz",
+    "npm:react-dom/-/react-dom-18.2.0.tgz",
+    "npm:@types/node/-/node-20.11.30.tgz",
+    "npm:typescript/-/typescript-5.4.0-dev.20240201.tgz",
+  };
+
+  static final String[] PYPI = {
+    "pypi:8c/15/3298c4ee5d187a462883a7f80d7621a05e8b880a8234729e733769a3476f/urllib3-1.25.7.tar.gz",
+    "pypi:73/d1/8891d9f1813257b2ea06261cfb23abbd660fa344d7067a1283fb9195d9cd/pandas-1.3.1-cp39-cp39-macosx_10_9_x86_64.whl",
+    "pypi:f9/1a/312d3cc9d29ac72a53d2a85144f5dce1e97b4ad513008394cfed5e27ffa2/ws3-0.0.1.post3-py3-none-any.whl",
+    "pypi:9d/be/10918a2eac4ae9f02f6cfe6414b7a155ccd8f7f9d4380d62fd5b955065c3/requests-2.31.0-py3-none-any.whl",
+    "pypi:a9/5a/0db4da3bc908df06e5efae42b44e75c81dd52716e10192ff36d0c1c8e379/typing_extensions-4.9.0.tar.gz",
+  };
+
+  static final String[] NUGET = {
+    "newtonsoft.json.13.10.2.nupkg",
+    "microsoft.extensions.logging.abstractions.8.0.0.nupkg",
+    "serilog.3.1.1.nupkg",
+    "system.text.json.8.0.1.nupkg",
+    "automapper.12.0.1.nupkg",
+  };
+
+  static final String[] RUBYGEMS = {
+    "mustermann-3.0.3.gem",
+    "rack-protection-4.1.1.gem",
+    "puma-6.4.2.gem",
+    "activesupport-7.1.3.gem",
+    "aws-sdk-core-3.191.0.gem",
+  };
+
+  static final String[] COCOAPODS = {
+    "AFNetworking-4.0.1.tar.gz",
+    "libwebp-v1.3.0.tar.gz",
+    "Alamofire-5.8.1.tar.gz",
+    "Firebase-10.22.0.tar.gz",
+    "SDWebImage-5.18.10.tar.gz",
+  };
+
+  private PackagePaths() {
+  }
+}
@@ -0,0 +1,58 @@
+package io.snyk.benchmarks;
+
+/**
+ * Synthetic Snyk API responses of a given size.
+ */
+final class Payloads {
+
+  private static final String[] SEVERITIES = {"low", "medium", "high", "critical"};
+  private static final String DESCRIPTION = "Affected versions of this package are vulnerable to Deserialization of Untrusted Data. "
+    .repeat(20);
+
+  private Payloads() {
+  }
+
+  /**
+   * A {@code v1/test} response for a package with {@code issues} vulnerabilities.
+   */
+  static String testResult(int issues) {
+    StringBuilder json = new StringBuilder("{\"ok\":false,\"dependencyCount\":1,\"packageManager\":\"maven\",")
+      .append("\"org\":{\"name\":\"my-org\",\"id\":\"00000000-0000-0000-0000-000000000000\"},")
+      .append("\"issues\":{\"licenses\":[],\"vulnerabilities\":[");
+    for (int i = 0; i < issues; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"id\":\"SNYK-JAVA-COMFASTERXMLJACKSONCORE-").append(i).append('"')
+        .append(",\"url\":\"https://security.snyk.io/vuln/SNYK-JAVA-COMFASTERXMLJACKSONCORE-").append(i).append('"')
+        .append(",\"title\":\"Deserialization of Untrusted Data\",\"type\":\"vuln\"")
+        .append(",\"package\":\"com.fasterxml.jackson.core:jackson-databind\",\"version\":\"2.9.8\"")
+        .append(",\"severity\":\"").append(SEVERITIES[i % SEVERITIES.length]).append('"')
+        .append(",\"language\":\"java\",\"packageManager\":\"maven\",\"isUpgradable\":true,\"isPatchable\":false")
+        .append(",\"description\":\"").append(DESCRIPTION).append('"')
+        .append(",\"semver\":{\"vulnerable\":[\"[2.9.0,2.9.9)\"]},\"identifiers\":{\"CVE\":[\"CVE-2019-").append(i).append("\"]}}");
+    }
+    return json.append("]}}").toString();
+  }
+
+  /**
+   * A {@code rest/orgs/{org}/packages/{purl}/issues} response with {@code issues} issues.
+   */
+  static String purlIssues(int issues) {
+    StringBuilder json = new StringBuilder("{\"jsonapi\":{\"version\":\"1.0\"},\"data\":[");
+    for (int i = 0; i < issues; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"id\":\"SNYK-JS-LODASH-").append(i).append("\",\"type\":\"issue\",\"attributes\":{")
+        .append("\"key\":\"SNYK-JS-LODASH-").append(i).append('"')
+        .append(",\"title\":\"Prototype Pollution\",\"type\":\"package_vulnerability\"")
+        .append(",\"description\":\"").append(DESCRIPTION).append('"')
+        .append(",\"effective_severity_level\":\"").append(SEVERITIES[i % SEVERITIES.length]).append('"')
+        .append(",\"problems\":[{\"id\":\"CVE-2020-").append(i).append("\",\"source\":\"CVE\"}]")
+        .append(",\"coordinates\":[{\"remedies\":[],\"representations\":[{\"package\":{\"name\":\"lodash\",\"type\":\"npm\",\"version\":\"4.17.15\",\"url\":\"pkg:npm/lodash@4.17.15\"}}]}]")
+        .append("}}");
+    }
+    return json.append("],\"links\":{},\"meta\":{\"package\":{\"name\":\"lodash\",\"type\":\"npm\",\"version\":\"4.17.15\"}}}").toString();
+  }
+}
@@ -0,0 +1,77 @@
+package io.snyk.benchmarks;
+
+import io.snyk.plugins.artifactory.configuration.ConfigurationModule;
+import io.snyk.plugins.artifactory.configuration.PluginConfiguration;
+import io.snyk.plugins.artifactory.configuration.properties.RepositoryArtifactProperties;
+import io.snyk.plugins.artifactory.model.Ignores;
+import io.snyk.plugins.artifactory.model.IssueSummary;
+import io.snyk.plugins.artifactory.model.MonitoredArtifact;
+import io.snyk.plugins.artifactory.model.TestResult;
+import io.snyk.plugins.artifactory.scanner.ScannerModule;
+import io.snyk.plugins.artifactory.scanner.ScannerResolver;
+import org.artifactory.repo.RepoPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The download of an npm artifact that was tested before, from {@link ScannerModule#filterAccess(RepoPath)} down to
+ * the property reads against an in-memory Artifactory. With {@code memoryCacheEntries} set to 0 every download
+ * reads and parses the stored result, otherwise it is served from the in-memory cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScannerModuleBenchmark {
+
+  private static final String REPO_KEY = "npm-remote";
+
+  @Param({"0", "10000"})
+  String memoryCacheEntries;
+
+  ScannerModule scannerModule;
+  RepoPath repoPath;
+
+  @Setup
+  public void setUp() {
+    InMemoryRepositories repositories = new InMemoryRepositories().addRepository(REPO_KEY, "npm", "remote");
+    repoPath = InMemoryRepositories.repoPath(REPO_KEY, "lodash/-/lodash-4.17.15.tgz");
+
+    IssueSummary none = IssueSummary.from(Map.of());
+    TestResult testResult = new TestResult(none, none, URI.create("https://security.snyk.io/package/npm/lodash/4.17.15"));
+    new MonitoredArtifact(repoPath.toString(), testResult, new Ignores())
+      .write(new RepositoryArtifactProperties(repoPath, repositories.repositories()));
+
+    Properties properties = new Properties();
+    properties.setProperty(PluginConfiguration.SCANNER_MEMORY_CACHE_MAX_ENTRIES.propertyKey(), memoryCacheEntries);
+    ConfigurationModule configuration = new ConfigurationModule(properties);
+    scannerModule = new ScannerModule(configuration, repositories.repositories(), new ScannerResolver(configuration::getPropertyOrDefault));
+  }
+
+  @TearDown
+  public void tearDown() {
+    scannerModule.close();
+  }
+
+  @Benchmark
+  public void filterAccess() {
+    scannerModule.filterAccess(repoPath);
+  }
+}
@@ -0,0 +1,56 @@
+package io.snyk.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.snyk.sdk.api.SnykResult;
+import io.snyk.sdk.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of a {@code v1/test} response with a new {@code ObjectMapper} per call, as {@link SnykResult}
+ * used to do, against the shared reader it uses now. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnykResultBenchmark {
+
+  @Param({"1", "100"})
+  int issues;
+
+  HttpResponse<String> response;
+
+  @Setup
+  public void setUp() {
+    response = new StaticResponse<>(Payloads.testResult(issues));
+  }
+
+  @Benchmark
+  public TestResult objectMapperPerCall() throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    return objectMapper.readValue(response.body(), TestResult.class);
+  }
+
+  @Benchmark
+  public TestResult sharedReader() throws IOException {
+    return SnykResult.createResult(response, TestResult.class).get().orElseThrow();
+  }
+}
@@ -0,0 +1,71 @@
+package io.snyk.benchmarks;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@code 200 OK} response with a fixed body, standing in for a response from the Snyk API.
+ */
+class StaticResponse<T> implements HttpResponse<T> {
+
+  private static final URI SNYK_API = URI.create("https://api.snyk.io/");
+
+  private final T body;
+  private final HttpHeaders headers;
+
+  StaticResponse(T body) {
+    this(body, Map.of());
+  }
+
+  StaticResponse(T body, Map<String, List<String>> headers) {
+    this.body = body;
+    this.headers = HttpHeaders.of(headers, (name, value) -> true);
+  }
+
+  @Override
+  public int statusCode() {
+    return 200;
+  }
+
+  @Override
+  public HttpRequest request() {
+    return HttpRequest.newBuilder(SNYK_API).build();
+  }
+
+  @Override
+  public Optional<HttpResponse<T>> previousResponse() {
+    return Optional.empty();
+  }
+
+  @Override
+  public HttpHeaders headers() {
+    return headers;
+  }
+
+  @Override
+  public T body() {
+    return body;
+  }
+
+  @Override
+  public Optional<SSLSession> sslSession() {
+    return Optional.empty();
+  }
+
+  @Override
+  public URI uri() {
+    return SNYK_API;
+  }
+
+  @Override
+  public HttpClient.Version version() {
+    return HttpClient.Version.HTTP_2;
+  }
+}
@@ -0,0 +1,93 @@
+package io.snyk.benchmarks;
+
+import io.snyk.plugins.artifactory.configuration.properties.RepositoryArtifactProperties;
+import io.snyk.plugins.artifactory.model.Ignores;
+import io.snyk.plugins.artifactory.model.IssueSummary;
+import io.snyk.plugins.artifactory.model.MonitoredArtifact;
+import io.snyk.plugins.artifactory.model.TestResult;
+import io.snyk.plugins.artifactory.scanner.TestResultConverter;
+import io.snyk.sdk.api.SnykResult;
+import io.snyk.sdk.model.SeverityCounts;
+import io.snyk.sdk.model.Severity;
+import org.artifactory.repo.RepoPath;
+import org.artifactory.repo.Repositories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading, writing and converting Snyk Test results, as done for every download that is not served from memory
+ * and for every test. Properties are read and written through an in-memory Artifactory; the stored result does not
+ * change between writes, so {@link #writeArtifact()} measures the read and comparison without property writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestResultBenchmark {
+
+  private static final String PACKAGE_DETAILS_URL = "https://security.snyk.io/package/npm/lodash/4.17.15";
+
+  Repositories repositories;
+  RepoPath repoPath;
+  MonitoredArtifact artifact;
+  String summary;
+  IssueSummary issueSummary;
+  SnykResult<SeverityCounts> result;
+
+  @Setup
+  public void setUp() {
+    repositories = new InMemoryRepositories().addRepository("npm-remote", "npm", "remote").repositories();
+    repoPath = InMemoryRepositories.repoPath("npm-remote", "lodash/-/lodash-4.17.15.tgz");
+
+    SeverityCounts counts = new SeverityCounts();
+    for (Severity severity : Severity.values()) {
+      counts.addVulnerability(severity);
+    }
+    counts.addLicense(Severity.MEDIUM);
+    result = new SnykResult<>(200, counts, null, new StaticResponse<>(""));
+
+    TestResult testResult = TestResultConverter.convert(counts, PACKAGE_DETAILS_URL);
+    artifact = new MonitoredArtifact(repoPath.toString(), testResult, new Ignores());
+    artifact.write(new RepositoryArtifactProperties(repoPath, repositories));
+    issueSummary = testResult.getVulnSummary();
+    summary = issueSummary.toString();
+  }
+
+  @Benchmark
+  public Optional<MonitoredArtifact> readArtifact() {
+    return MonitoredArtifact.read(RepositoryArtifactProperties.snapshot(repoPath, repositories));
+  }
+
+  @Benchmark
+  public MonitoredArtifact writeArtifact() {
+    return artifact.write(RepositoryArtifactProperties.snapshot(repoPath, repositories));
+  }
+
+  @Benchmark
+  public Optional<IssueSummary> parseIssueSummary() {
+    return IssueSummary.parse(summary);
+  }
+
+  @Benchmark
+  public String formatIssueSummary() {
+    return issueSummary.toString();
+  }
+
+  @Benchmark
+  public TestResult convert() {
+    return TestResultConverter.convert(result, PACKAGE_DETAILS_URL, Optional.empty());
+  }
+}
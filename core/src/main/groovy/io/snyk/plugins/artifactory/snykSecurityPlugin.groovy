@@ -1,5 +1,6 @@
 package io.snyk.plugins.artifactory
 
+import groovy.json.JsonBuilder
 import groovy.transform.Field
 import org.artifactory.fs.ItemInfo
 import org.artifactory.repo.RepoPath
@@ -13,7 +14,10 @@ private void initialize() {
   log.info("Initializing snykSecurityPlugin...")
 
   final File pluginsDirectory = ctx.artifactoryHome.pluginsDir
+  // The new plugin is created before the old one is closed, so that a failed reload keeps the old one working
+  final SnykPlugin previous = snykPlugin
   snykPlugin = new SnykPlugin(repositories, pluginsDirectory)
+  previous?.close()
 
   log.info("Initialization of snykSecurityPlugin completed")
 }
@@ -22,6 +26,11 @@ executions {
   snykSecurityReload(httpMethod: "POST") { params ->
     initialize()
   }
+
+  snykSecurityStatus(httpMethod: "GET") { params ->
+    message = new JsonBuilder(snykPlugin.getStatus()).toPrettyString()
+    status = 200
+  }
 }
 
 download {
@@ -56,4 +65,13 @@ storage {
       throw e;
     }
   }
+
+  afterPropertyDelete { ItemInfo itemInfo, String propertyName ->
+    try {
+      snykPlugin.handleAfterPropertyDeleteEvent(itemInfo, propertyName)
+    } catch (Exception e) {
+      log.error("An exception occurred during afterPropertyDelete, re-throwing it for Artifactory to handle. Message was: ${e.message}")
+      throw e
+    }
+  }
 }
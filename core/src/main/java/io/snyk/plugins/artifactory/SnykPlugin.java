@@ -7,11 +7,14 @@ import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty;
 import io.snyk.plugins.artifactory.configuration.properties.BlockReasonProperty;
 import io.snyk.plugins.artifactory.configuration.properties.RepositoryArtifactProperties;
 import io.snyk.plugins.artifactory.configuration.ConfigurationModule;
+import io.snyk.plugins.artifactory.configuration.PluginSettings;
 import io.snyk.plugins.artifactory.exception.CannotScanException;
 import io.snyk.plugins.artifactory.exception.SnykAPIFailureException;
 import io.snyk.plugins.artifactory.exception.SnykRuntimeException;
 import io.snyk.plugins.artifactory.scanner.*;
 import io.snyk.sdk.SnykConfig;
+import io.snyk.sdk.api.CircuitBreaker;
+import io.snyk.sdk.api.RateLimiter;
 import io.snyk.sdk.api.SnykClient;
 import io.snyk.sdk.api.SnykResult;
 import io.snyk.sdk.model.NotificationSettings;
@@ -26,8 +29,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import java.io.File;
+import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 
@@ -40,14 +47,18 @@ public class SnykPlugin {
   private static final Logger LOG = LoggerFactory.getLogger(SnykPlugin.class);
 
   private ConfigurationModule configurationModule;
+  private SnykClient snykClient;
   private AuditModule auditModule;
   private ScannerModule scannerModule;
+  private PluginSettings settings;
+  private TestQueue afterCreateQueue;
   private Repositories repositories;
 
   SnykPlugin() {
   }
 
   public SnykPlugin(@Nonnull Repositories repositories, File pluginsDirectory) {
+    ScannerResolver scannerResolver = null;
     try {
       LOG.info("Loading and validating plugin properties...");
       Properties properties = PropertyLoader.loadProperties(pluginsDirectory);
@@ -65,19 +76,39 @@ public class SnykPlugin {
         token = "no token configured";
       }
       LOG.debug("Token: {}", token);
-      final SnykClient snykClient = createSnykClient(configurationModule, pluginVersion);
+      snykClient = createSnykClient(configurationModule, pluginVersion);
 
       auditModule = new AuditModule();
-      ScannerResolver scannerResolver = ScannerResolver.setup(configurationModule, snykClient);
+      scannerResolver = ScannerResolver.setup(configurationModule, snykClient);
       this.repositories = repositories;
-      scannerModule = new ScannerModule(configurationModule, repositories, scannerResolver);
+      settings = PluginSettings.from(configurationModule);
+      scannerModule = new ScannerModule(configurationModule, settings, repositories, scannerResolver, pluginsDirectory);
+      if ("true".equals(configurationModule.getPropertyOrDefault(SCANNER_AFTER_CREATE_ASYNC))) {
+        afterCreateQueue = createAfterCreateQueue();
+      }
 
       LOG.info("Plugin version: {}", pluginVersion);
     } catch (Exception ex) {
+      releaseAfterFailedInit(scannerResolver);
       throw new SnykRuntimeException("Snyk plugin could not be initialized!", ex);
     }
   }
 
+  /**
+   * Stops the threads and closes the files of the modules created before initialization failed.
+   */
+  private void releaseAfterFailedInit(ScannerResolver scannerResolver) {
+    try {
+      if (scannerModule != null) {
+        scannerModule.close();
+      } else if (scannerResolver != null) {
+        scannerResolver.close();
+      }
+    } catch (RuntimeException e) {
+      LOG.warn("Could not release resources of the Snyk plugin that failed to initialize: {}", e.getMessage());
+    }
+  }
+
   /**
    * Logs update event for following artifact properties:
    * <ul>
@@ -86,23 +117,97 @@ public class SnykPlugin {
    * <li>{@link ArtifactProperty#ISSUE_VULNERABILITIES_FORCE_DOWNLOAD}</li>
    * <li>{@link ArtifactProperty#ISSUE_VULNERABILITIES_FORCE_DOWNLOAD_INFO}</li>
    * </ul>
+   * and drops the in-memory result of the artifact when a Snyk property changes.
    * <p>
    * Extension point: {@code storage.afterPropertyCreate}.
    */
   public void handleAfterPropertyCreateEvent(User user, ItemInfo itemInfo, String propertyName, String[] propertyValues) {
     LOG.debug("Handle 'afterPropertyCreate' event for: {}", itemInfo);
     auditModule.logPropertyUpdate(user, itemInfo, propertyName, propertyValues);
+    scannerModule.handlePropertyChange(itemInfo.getRepoPath(), propertyName);
+  }
+
+  /**
+   * Drops the in-memory and stored results of the artifact when a Snyk property is removed.
+   * <p>
+   * Extension point: {@code storage.afterPropertyDelete}.
+   */
+  public void handleAfterPropertyDeleteEvent(ItemInfo itemInfo, String propertyName) {
+    LOG.debug("Handle 'afterPropertyDelete' event for: {}", itemInfo);
+    scannerModule.handlePropertyDelete(itemInfo.getRepoPath(), propertyName);
+  }
+
+  /**
+   * Releases resources held by the plugin, e.g. the on-disk result store.
+   * Called before the plugin is replaced by {@code snykSecurityReload}.
+   */
+  public void close() {
+    LOG.debug("Closing Snyk plugin");
+    if (afterCreateQueue != null) {
+      Duration timeout = Duration.ofSeconds(Long.parseLong(configurationModule.getPropertyOrDefault(SCANNER_AFTER_CREATE_SHUTDOWN_TIMEOUT_SECONDS)));
+      LOG.info("Waiting up to {} for {} queued Snyk tests", timeout, afterCreateQueue.size());
+      afterCreateQueue.close(timeout);
+    }
+    if (scannerModule != null) {
+      scannerModule.close();
+    }
+  }
+
+  /**
+   * Current limits and health of the connection to Snyk API, and the backlog of background tests.
+   * <p>
+   * Extension point: {@code executions.snykSecurityStatus}.
+   */
+  public Map<String, Object> getStatus() {
+    Map<String, Object> status = new LinkedHashMap<>();
+
+    RateLimiter.Status rateLimit = snykClient.getRateLimitStatus();
+    Map<String, Object> rateLimitStatus = new LinkedHashMap<>();
+    rateLimitStatus.put("permitsPerSecond", rateLimit.permitsPerSecond);
+    rateLimitStatus.put("concurrencyLimit", rateLimit.concurrencyLimit);
+    rateLimitStatus.put("inFlight", rateLimit.inFlight);
+    rateLimitStatus.put("waiting", rateLimit.waiting);
+    rateLimitStatus.put("pausedForSeconds", rateLimit.pausedFor.toSeconds());
+    status.put("rateLimit", rateLimitStatus);
+
+    snykClient.getCircuitBreakerMetrics().ifPresent(metrics -> {
+      Map<String, Object> circuitBreakerStatus = new LinkedHashMap<>();
+      circuitBreakerStatus.put("state", metrics.state.name());
+      circuitBreakerStatus.put("failureRate", metrics.failureRate);
+      circuitBreakerStatus.put("slowCallRate", metrics.slowCallRate);
+      circuitBreakerStatus.put("bufferedCalls", metrics.bufferedCalls);
+      circuitBreakerStatus.put("rejectedCalls", metrics.rejectedCalls);
+      circuitBreakerStatus.put("timesOpened", metrics.timesOpened);
+      status.put("circuitBreaker", circuitBreakerStatus);
+    });
+
+    if (afterCreateQueue != null) {
+      Map<String, Object> queueStatus = new LinkedHashMap<>();
+      queueStatus.put("size", afterCreateQueue.size());
+      queueStatus.put("dropped", afterCreateQueue.droppedCount());
+      status.put("afterCreateQueue", queueStatus);
+    }
+    return status;
   }
 
   /**
    * Invoked once when an artifact is first fetched from an external repository.
-   * Runs Snyk test and persists the result in properties.
+   * Runs Snyk test and persists the result in properties, in the background when
+   * {@code snyk.scanner.afterCreate.async} is enabled.
    * <p>
    * Extension point: {@code storage.afterCreate}.
    */
   public void handleAfterCreate(RepoPath repoPath) {
     LOG.debug("Handle 'afterCreate' event for: {}", repoPath);
 
+    if (afterCreateQueue != null) {
+      afterCreateQueue.submit(repoPath);
+    } else {
+      testArtifact(repoPath);
+    }
+  }
+
+  private void testArtifact(RepoPath repoPath) {
     try {
       scannerModule.testArtifact(repoPath);
     } catch (CannotScanException e) {
@@ -129,12 +234,11 @@ public class SnykPlugin {
       LOG.debug("Artifact cannot be scanned. {} {}", e.getMessage(), repoPath);
     } catch (SnykAPIFailureException e) {
       final String blockOnApiFailurePropertyKey = SCANNER_BLOCK_ON_API_FAILURE.propertyKey();
-      final String blockOnApiFailure = configurationModule.getPropertyOrDefault(SCANNER_BLOCK_ON_API_FAILURE);
       final String causeMessage = getCauseMessage(e);
 
       String message = format("Artifact scan failed due to an API error on Snyk's side. %s %s", causeMessage, repoPath);
       LOG.debug(message);
-      if ("true".equals(blockOnApiFailure)) {
+      if (settings.shouldBlockOnApiFailure()) {
         LOG.debug("Blocking download. Plugin Property \"{}\" is \"true\". {}", blockOnApiFailurePropertyKey, repoPath);
         try {
           new RepositoryArtifactProperties(repoPath, repositories).set(
@@ -149,6 +253,32 @@ public class SnykPlugin {
     }
   }
 
+  private TestQueue createAfterCreateQueue() {
+    TestQueue.OverflowPolicy overflowPolicy;
+    String policy = configurationModule.getPropertyOrDefault(SCANNER_AFTER_CREATE_QUEUE_FULL_POLICY);
+    try {
+      overflowPolicy = TestQueue.OverflowPolicy.parse(policy);
+    } catch (IllegalArgumentException e) {
+      throw new SnykRuntimeException(format("%s must be \"inline\" or \"drop\", got \"%s\"", SCANNER_AFTER_CREATE_QUEUE_FULL_POLICY.propertyKey(), policy), e);
+    }
+    return new TestQueue(
+      "snyk-after-create",
+      Integer.parseInt(configurationModule.getPropertyOrDefault(SCANNER_AFTER_CREATE_WORKERS)),
+      Integer.parseInt(configurationModule.getPropertyOrDefault(SCANNER_AFTER_CREATE_QUEUE_SIZE)),
+      overflowPolicy,
+      "true".equals(configurationModule.getPropertyOrDefault(SCANNER_VIRTUAL_THREADS)),
+      this::testArtifact
+    );
+  }
+
+  private HttpClient.Version parseHttpVersion(String value) {
+    try {
+      return HttpClient.Version.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new SnykRuntimeException(format("%s must be \"HTTP_2\" or \"HTTP_1_1\", got \"%s\"", API_HTTP_VERSION.propertyKey(), value), e);
+    }
+  }
+
   private String getCauseMessage(Throwable e) {
     return Optional.ofNullable(e.getCause())
       .map(Throwable::getMessage)
@@ -191,6 +321,19 @@ public class SnykPlugin {
     String httpProxyHost = configurationModule.getPropertyOrDefault(HTTP_PROXY_HOST);
     Integer httpProxyPort = Integer.parseInt(configurationModule.getPropertyOrDefault(HTTP_PROXY_PORT));
     Duration timeout = Duration.ofMillis(Integer.parseInt(configurationModule.getPropertyOrDefault(API_TIMEOUT)));
+    double rateLimitPerSecond = Double.parseDouble(configurationModule.getPropertyOrDefault(API_RATE_LIMIT_PER_SECOND));
+    int rateLimitBurst = Integer.parseInt(configurationModule.getPropertyOrDefault(API_RATE_LIMIT_BURST));
+    int maxConcurrentRequests = Integer.parseInt(configurationModule.getPropertyOrDefault(API_MAX_CONCURRENT_REQUESTS));
+    int maxRetries = Integer.parseInt(configurationModule.getPropertyOrDefault(API_RETRY_MAX));
+    Duration retryBackoff = Duration.ofMillis(Long.parseLong(configurationModule.getPropertyOrDefault(API_RETRY_BACKOFF_MS)));
+    double retryBudgetRatio = Double.parseDouble(configurationModule.getPropertyOrDefault(API_RETRY_BUDGET));
+    boolean circuitBreakerEnabled = "true".equals(configurationModule.getPropertyOrDefault(API_CIRCUIT_BREAKER_ENABLED));
+    double circuitBreakerFailureRate = Double.parseDouble(configurationModule.getPropertyOrDefault(API_CIRCUIT_BREAKER_FAILURE_RATE)) / 100;
+    double circuitBreakerSlowCallRate = Double.parseDouble(configurationModule.getPropertyOrDefault(API_CIRCUIT_BREAKER_SLOW_CALL_RATE)) / 100;
+    Duration circuitBreakerSlowCall = Duration.ofMillis(Long.parseLong(configurationModule.getPropertyOrDefault(API_CIRCUIT_BREAKER_SLOW_CALL_MS)));
+    Duration circuitBreakerOpen = Duration.ofSeconds(Long.parseLong(configurationModule.getPropertyOrDefault(API_CIRCUIT_BREAKER_OPEN_SECONDS)));
+    HttpClient.Version httpVersion = parseHttpVersion(configurationModule.getPropertyOrDefault(API_HTTP_VERSION));
+    boolean compression = "true".equals(configurationModule.getPropertyOrDefault(API_COMPRESSION_ENABLED));
 
     var config = SnykConfig.newBuilder()
       .setBaseUrl(baseUrl)
@@ -201,6 +344,19 @@ public class SnykPlugin {
       .setHttpProxyHost(httpProxyHost)
       .setHttpProxyPort(httpProxyPort)
       .setTimeout(timeout)
+      .setRateLimitPerSecond(rateLimitPerSecond)
+      .setRateLimitBurst(rateLimitBurst)
+      .setMaxConcurrentRequests(maxConcurrentRequests)
+      .setMaxRetries(maxRetries)
+      .setRetryBackoff(retryBackoff)
+      .setRetryBudgetRatio(retryBudgetRatio)
+      .setCircuitBreakerEnabled(circuitBreakerEnabled)
+      .setCircuitBreakerFailureRate(circuitBreakerFailureRate)
+      .setCircuitBreakerSlowCallRate(circuitBreakerSlowCallRate)
+      .setCircuitBreakerSlowCallDuration(circuitBreakerSlowCall)
+      .setCircuitBreakerOpenDuration(circuitBreakerOpen)
+      .setHttpVersion(httpVersion)
+      .setCompression(compression)
       .build();
 
     LOG.debug("about to log config...");
@@ -226,7 +382,7 @@ public class SnykPlugin {
         info += "\nRequest URI: " + request.uri();
         info += "\nRequest Headers: " + sanitizeHeaders(request);
         info += "\nResponse Status: " + res.response.statusCode();
-        info += "\nResponse Body: " + res.response.body();
+        info += "\nResponse Body: " + res.responseAsText.orElse("");
       }
       LOG.warn("Snyk token check unsuccessful - response status code {}{}", res.statusCode, info);
       if (res.statusCode == 401) {
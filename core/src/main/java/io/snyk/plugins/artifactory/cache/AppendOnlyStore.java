@@ -0,0 +1,532 @@
+package io.snyk.plugins.artifactory.cache;
+
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A string-keyed store on disk, made of an append-only record log and a memory-mapped hash index
+ * pointing each key to the offset of its latest record. Index slots are matched on the key stored in the
+ * record they point to, so keys with the same hash get slots of their own.
+ * <p>
+ * Every record carries a CRC, so a log cut short by a crash is truncated to its last complete record.
+ * The index is disposable: when it is missing, corrupt or does not cover the whole log, it is rebuilt by
+ * replaying the log. Once superseded and removed records outnumber live ones, the log is compacted.
+ * <p>
+ * Only one instance may have a directory open at a time, which is enforced with a lock on {@value #LOCK_FILE}.
+ * Within the JVM, {@link #open(Path)} shares the instance of a directory between its users, e.g. between the
+ * running plugin and the one replacing it on {@code snykSecurityReload}; the files are closed with the last user.
+ */
+public class AppendOnlyStore implements Closeable {
+
+  private static final Logger LOG = getLogger(AppendOnlyStore.class);
+
+  static final String LOG_FILE = "results.log";
+  static final String INDEX_FILE = "results.idx";
+  static final String LOCK_FILE = "results.lock";
+
+  private static final Map<Path, AppendOnlyStore> OPEN_STORES = new HashMap<>();
+
+  private static final int INDEX_MAGIC = 0x536e796b;
+  private static final int INDEX_VERSION = 2;
+  private static final int INDEX_HEADER_SIZE = 64;
+  private static final int SLOT_SIZE = 16;
+  private static final int INITIAL_CAPACITY = 1 << 12;
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final int MAX_RECORD_SIZE = 1 << 20;
+  private static final long MIN_RECORDS_BEFORE_COMPACTION = 1024;
+
+  private static final byte PUT = 1;
+  private static final byte REMOVE = 0;
+
+  private final Path logFile;
+  private final Path indexFile;
+  private final Path directory;
+  private final ToLongFunction<byte[]> hashFunction;
+
+  private FileChannel lockChannel;
+  private FileLock lock;
+  private int users = 1;
+  private FileChannel log;
+  private long logLength;
+  private FileChannel indexChannel;
+  private MappedByteBuffer index;
+  private int capacity;
+  private int usedSlots;
+  private long records;
+  private long liveRecords;
+
+  /**
+   * Opens the store in {@code directory} for exclusive use by this instance.
+   *
+   * @throws IOException also when the store is already open, in this or another process
+   */
+  public AppendOnlyStore(Path directory) throws IOException {
+    this(directory, AppendOnlyStore::fnv1a);
+  }
+
+  AppendOnlyStore(Path directory, ToLongFunction<byte[]> hashFunction) throws IOException {
+    this.hashFunction = hashFunction;
+    Files.createDirectories(directory);
+    this.directory = directory.toAbsolutePath().normalize();
+    this.logFile = directory.resolve(LOG_FILE);
+    this.indexFile = directory.resolve(INDEX_FILE);
+    lock();
+    try {
+      open();
+    } catch (IOException | RuntimeException e) {
+      unlock();
+      throw e;
+    }
+  }
+
+  /**
+   * The open store of {@code directory}, shared with its other users, or a newly opened one.
+   * Every call must be matched by a {@link #close()}.
+   */
+  public static AppendOnlyStore open(Path directory) throws IOException {
+    Path key = directory.toAbsolutePath().normalize();
+    synchronized (OPEN_STORES) {
+      AppendOnlyStore store = OPEN_STORES.get(key);
+      if (store != null && store.retain()) {
+        return store;
+      }
+      store = new AppendOnlyStore(key);
+      OPEN_STORES.put(key, store);
+      return store;
+    }
+  }
+
+  public synchronized Optional<byte[]> get(String key) {
+    if (isClosed()) {
+      return Optional.empty();
+    }
+    byte[] keyBytes = key.getBytes(UTF_8);
+    try {
+      int slot = findSlot(keyBytes, hash(keyBytes));
+      if (slot < 0 || !isLive(slotValue(slot))) {
+        return Optional.empty();
+      }
+      return readRecord(slotValue(slot))
+        .filter(record -> record.op == PUT && Arrays.equals(record.key, keyBytes))
+        .map(record -> record.value);
+    } catch (IOException e) {
+      LOG.warn("Could not read cached Snyk result of {}: {}", key, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  public synchronized void put(String key, byte[] value) throws IOException {
+    if (isClosed()) {
+      return;
+    }
+    write(key.getBytes(UTF_8), PUT, value);
+  }
+
+  public synchronized void remove(String key) throws IOException {
+    if (isClosed()) {
+      return;
+    }
+    byte[] keyBytes = key.getBytes(UTF_8);
+    int slot = findSlot(keyBytes, hash(keyBytes));
+    if (slot < 0 || !isLive(slotValue(slot))) {
+      return;
+    }
+    write(keyBytes, REMOVE, new byte[0]);
+  }
+
+  public synchronized long size() {
+    return liveRecords;
+  }
+
+  /**
+   * Releases the store, closing its files when this was its last user. Once closed, the store behaves as an
+   * empty one that ignores writes, so that downloads still running against a replaced plugin do not fail.
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (OPEN_STORES) {
+      synchronized (this) {
+        if (isClosed() || --users > 0) {
+          return;
+        }
+        OPEN_STORES.remove(directory, this);
+        try {
+          index.force();
+          indexChannel.close();
+          log.force(false);
+          log.close();
+        } finally {
+          log = null;
+          unlock();
+        }
+      }
+    }
+  }
+
+  private synchronized boolean retain() {
+    if (isClosed()) {
+      return false;
+    }
+    users++;
+    return true;
+  }
+
+  private void lock() throws IOException {
+    lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), CREATE, WRITE);
+    try {
+      lock = lockChannel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      lock = null;
+    }
+    if (lock == null) {
+      lockChannel.close();
+      throw new IOException("Snyk result store in " + directory + " is already in use");
+    }
+  }
+
+  private void unlock() throws IOException {
+    try {
+      lock.release();
+    } finally {
+      lockChannel.close();
+    }
+  }
+
+  private boolean isClosed() {
+    return log == null;
+  }
+
+  private void write(byte[] key, byte op, byte[] value) throws IOException {
+    long offset = logLength;
+    ByteBuffer record = encode(key, op, value);
+    while (record.hasRemaining()) {
+      log.write(record, logLength + record.position());
+    }
+    logLength += record.limit();
+    records++;
+    index(key, op == PUT ? offset : removed(offset));
+    writeHeader();
+
+    if (records >= MIN_RECORDS_BEFORE_COMPACTION && records - liveRecords > liveRecords) {
+      compact();
+    }
+  }
+
+  private void open() throws IOException {
+    log = FileChannel.open(logFile, CREATE, READ, WRITE);
+    logLength = log.size();
+    if (!loadIndex()) {
+      LOG.info("Rebuilding Snyk result index from {}", logFile);
+      rebuildIndex();
+    }
+  }
+
+  private boolean loadIndex() throws IOException {
+    if (!Files.exists(indexFile) || Files.size(indexFile) < INDEX_HEADER_SIZE) {
+      return false;
+    }
+    indexChannel = FileChannel.open(indexFile, READ, WRITE);
+    index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexChannel.size());
+    int storedCapacity = index.getInt(8);
+    boolean valid = index.getInt(0) == INDEX_MAGIC
+      && index.getInt(4) == INDEX_VERSION
+      && Integer.bitCount(storedCapacity) == 1
+      && indexChannel.size() == INDEX_HEADER_SIZE + (long) storedCapacity * SLOT_SIZE
+      && index.getLong(16) == logLength;
+    if (!valid) {
+      indexChannel.close();
+      return false;
+    }
+    capacity = storedCapacity;
+    usedSlots = index.getInt(12);
+    records = index.getLong(24);
+    liveRecords = index.getLong(32);
+    return true;
+  }
+
+  private void rebuildIndex() throws IOException {
+    createIndex(INITIAL_CAPACITY);
+    long offset = 0;
+    long end = log.size();
+    while (offset < end) {
+      Optional<Record> record = readRecord(offset);
+      if (record.isEmpty()) {
+        LOG.warn("Truncating Snyk result log {} at offset {} after an incomplete or corrupt record", logFile, offset);
+        log.truncate(offset);
+        break;
+      }
+      records++;
+      index(record.get().key, record.get().op == PUT ? offset : removed(offset));
+      offset += RECORD_HEADER_SIZE + record.get().length;
+    }
+    logLength = offset;
+    writeHeader();
+  }
+
+  private void createIndex(int newCapacity) throws IOException {
+    Path tmp = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+    FileChannel channel = FileChannel.open(tmp, CREATE, READ, WRITE, TRUNCATE_EXISTING);
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_SIZE + (long) newCapacity * SLOT_SIZE);
+    Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    if (indexChannel != null && indexChannel.isOpen()) {
+      indexChannel.close();
+    }
+    indexChannel = channel;
+    index = buffer;
+    capacity = newCapacity;
+    usedSlots = 0;
+    records = 0;
+    liveRecords = 0;
+  }
+
+  private void grow() throws IOException {
+    MappedByteBuffer old = index;
+    int oldCapacity = capacity;
+    long oldRecords = records;
+    createIndex(oldCapacity * 2);
+    for (int slot = 0; slot < oldCapacity; slot++) {
+      int position = INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+      long hash = old.getLong(position);
+      if (hash != 0) {
+        insert(hash, old.getLong(position + 8));
+      }
+    }
+    records = oldRecords;
+    writeHeader();
+  }
+
+  /**
+   * Rewrites the log with only the latest record of every live key and rebuilds the index from it.
+   */
+  private void compact() throws IOException {
+    Path tmp = logFile.resolveSibling(LOG_FILE + ".compact");
+    try (FileChannel compacted = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      for (int slot = 0; slot < capacity; slot++) {
+        if (slotHash(slot) == 0 || !isLive(slotValue(slot))) {
+          continue;
+        }
+        Optional<Record> record = readRecord(slotValue(slot));
+        if (record.isPresent()) {
+          compacted.write(encode(record.get().key, PUT, record.get().value));
+        }
+      }
+      compacted.force(false);
+    }
+    long before = logLength;
+    log.close();
+    Files.move(tmp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    log = FileChannel.open(logFile, READ, WRITE);
+    logLength = log.size();
+    rebuildIndex();
+    LOG.debug("Compacted Snyk result log from {} to {} bytes", before, logLength);
+  }
+
+  /**
+   * Points the slot of {@code key} to {@code slotValue}, the offset of its latest record or {@link #removed(long)}.
+   */
+  private void index(byte[] key, long slotValue) throws IOException {
+    long hash = hash(key);
+    int slot = findSlot(key, hash);
+    if (slot < 0) {
+      insert(hash, slotValue);
+      return;
+    }
+    long previous = slotValue(slot);
+    index.putLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 8, slotValue);
+    liveRecords += (isLive(slotValue) ? 1 : 0) - (isLive(previous) ? 1 : 0);
+  }
+
+  private void insert(long hash, long slotValue) throws IOException {
+    if ((usedSlots + 1) * 4L > capacity * 3L) {
+      grow();
+    }
+    int slot = (int) (mix(hash) & (capacity - 1));
+    while (slotHash(slot) != 0) {
+      slot = (slot + 1) & (capacity - 1);
+    }
+    int position = INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+    index.putLong(position, hash);
+    index.putLong(position + 8, slotValue);
+    usedSlots++;
+    if (isLive(slotValue)) {
+      liveRecords++;
+    }
+  }
+
+  /**
+   * The slot of {@code key}, or -1 when it has none. Slots with the same hash are told apart by the key
+   * of the record they point to.
+   */
+  private int findSlot(byte[] key, long hash) throws IOException {
+    int slot = (int) (mix(hash) & (capacity - 1));
+    for (int probes = 0; probes < capacity; probes++) {
+      long slotHash = slotHash(slot);
+      if (slotHash == 0) {
+        return -1;
+      }
+      if (slotHash == hash && keyMatches(slotValue(slot), key)) {
+        return slot;
+      }
+      slot = (slot + 1) & (capacity - 1);
+    }
+    return -1;
+  }
+
+  /**
+   * Whether the record at the slot value has the key, reading only the start of the record.
+   */
+  private boolean keyMatches(long slotValue, byte[] key) throws IOException {
+    ByteBuffer start = ByteBuffer.allocate(RECORD_HEADER_SIZE + 5 + key.length);
+    if (!readFully(start, recordOffset(slotValue))) {
+      return false;
+    }
+    return start.getInt(0) >= 5 + key.length
+      && start.getInt(RECORD_HEADER_SIZE + 1) == key.length
+      && Arrays.equals(start.array(), RECORD_HEADER_SIZE + 5, start.capacity(), key, 0, key.length);
+  }
+
+  private long slotHash(int slot) {
+    return index.getLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE);
+  }
+
+  private long slotValue(int slot) {
+    return index.getLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 8);
+  }
+
+  /**
+   * Slot value of a removed key: the offset of its remove record, which keeps the key, as a negative number.
+   */
+  private static long removed(long offset) {
+    return -offset - 1;
+  }
+
+  private static boolean isLive(long slotValue) {
+    return slotValue >= 0;
+  }
+
+  private static long recordOffset(long slotValue) {
+    return isLive(slotValue) ? slotValue : -slotValue - 1;
+  }
+
+  private void writeHeader() {
+    index.putInt(0, INDEX_MAGIC);
+    index.putInt(4, INDEX_VERSION);
+    index.putInt(8, capacity);
+    index.putInt(12, usedSlots);
+    index.putLong(16, logLength);
+    index.putLong(24, records);
+    index.putLong(32, liveRecords);
+  }
+
+  private static ByteBuffer encode(byte[] key, byte op, byte[] value) {
+    int length = 1 + 4 + key.length + value.length;
+    ByteBuffer body = ByteBuffer.allocate(length);
+    body.put(op).putInt(key.length).put(key).put(value);
+    CRC32 crc = new CRC32();
+    crc.update(body.array());
+
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+    record.putInt(length).putInt((int) crc.getValue()).put(body.array());
+    record.flip();
+    return record;
+  }
+
+  private Optional<Record> readRecord(long offset) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    if (!readFully(header, offset)) {
+      return Optional.empty();
+    }
+    int length = header.getInt(0);
+    if (length < 5 || length > MAX_RECORD_SIZE) {
+      return Optional.empty();
+    }
+    ByteBuffer body = ByteBuffer.allocate(length);
+    if (!readFully(body, offset + RECORD_HEADER_SIZE)) {
+      return Optional.empty();
+    }
+    CRC32 crc = new CRC32();
+    crc.update(body.array());
+    if ((int) crc.getValue() != header.getInt(4)) {
+      return Optional.empty();
+    }
+
+    body.flip();
+    byte op = body.get();
+    int keyLength = body.getInt();
+    if (keyLength < 0 || keyLength > body.remaining()) {
+      return Optional.empty();
+    }
+    byte[] key = new byte[keyLength];
+    body.get(key);
+    byte[] value = new byte[body.remaining()];
+    body.get(value);
+    return Optional.of(new Record(length, op, key, value));
+  }
+
+  private boolean readFully(ByteBuffer buffer, long offset) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (log.read(buffer, offset + buffer.position()) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Hash of the key for the index, where 0 marks an empty slot.
+   */
+  private long hash(byte[] key) {
+    long hash = hashFunction.applyAsLong(key);
+    return hash == 0 ? 1 : hash;
+  }
+
+  private static long fnv1a(byte[] key) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : key) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static long mix(long hash) {
+    return hash ^ (hash >>> 32);
+  }
+
+  private static final class Record {
+    private final int length;
+    private final byte op;
+    private final byte[] key;
+    private final byte[] value;
+
+    private Record(int length, byte op, byte[] key, byte[] value) {
+      this.length = length;
+      this.op = op;
+      this.key = key;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package io.snyk.plugins.artifactory.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A small in-heap cache bounded both by size (least recently used entries are evicted first)
+ * and by age (entries older than the time-to-live are treated as absent).
+ * A cache created with {@code maxEntries <= 0} is disabled and never stores anything.
+ */
+public class ExpiringCache<K, V> {
+
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final LinkedHashMap<K, CachedValue<V>> entries;
+
+  public ExpiringCache(int maxEntries, Duration ttl) {
+    this.maxEntries = maxEntries;
+    this.ttlNanos = ttl.toNanos();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+        return size() > ExpiringCache.this.maxEntries;
+      }
+    };
+  }
+
+  public synchronized Optional<V> get(K key) {
+    CachedValue<V> entry = entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (System.nanoTime() - entry.storedAt >= ttlNanos) {
+      entries.remove(key);
+      return Optional.empty();
+    }
+    return Optional.of(entry.value);
+  }
+
+  public synchronized void put(K key, V value) {
+    if (!isEnabled()) {
+      return;
+    }
+    entries.put(key, new CachedValue<>(value, System.nanoTime()));
+  }
+
+  public synchronized void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public boolean isEnabled() {
+    return maxEntries > 0 && ttlNanos > 0;
+  }
+
+  private static final class CachedValue<V> {
+    private final V value;
+    private final long storedAt;
+
+    private CachedValue(V value, long storedAt) {
+      this.value = value;
+      this.storedAt = storedAt;
+    }
+  }
+}
@@ -16,6 +16,19 @@ public enum PluginConfiguration implements Configuration {
    * This does not affect the RubyGems, Nuget, and CocoaPods scanners, which only use the REST API.
    */
   API_REST_ENABLED("snyk.api.rest.enabled", "false"),
+  API_RATE_LIMIT_PER_SECOND("snyk.api.rateLimit.perSecond", "0"),
+  API_RATE_LIMIT_BURST("snyk.api.rateLimit.burst", "10"),
+  API_MAX_CONCURRENT_REQUESTS("snyk.api.maxConcurrentRequests", "64"),
+  API_RETRY_MAX("snyk.api.retry.max", "2"),
+  API_RETRY_BACKOFF_MS("snyk.api.retry.backoff.ms", "500"),
+  API_RETRY_BUDGET("snyk.api.retry.budget", "0.1"),
+  API_CIRCUIT_BREAKER_ENABLED("snyk.api.circuitBreaker.enabled", "true"),
+  API_CIRCUIT_BREAKER_FAILURE_RATE("snyk.api.circuitBreaker.failureRate", "50"),
+  API_CIRCUIT_BREAKER_SLOW_CALL_RATE("snyk.api.circuitBreaker.slowCallRate", "80"),
+  API_CIRCUIT_BREAKER_SLOW_CALL_MS("snyk.api.circuitBreaker.slowCall.ms", "10000"),
+  API_CIRCUIT_BREAKER_OPEN_SECONDS("snyk.api.circuitBreaker.open.seconds", "30"),
+  API_HTTP_VERSION("snyk.api.httpVersion", "HTTP_2"),
+  API_COMPRESSION_ENABLED("snyk.api.compression.enabled", "true"),
 
   HTTP_PROXY_HOST("snyk.http.proxyHost", ""),
   HTTP_PROXY_PORT("snyk.http.proxyPort", "80"),
@@ -30,9 +43,31 @@ public enum PluginConfiguration implements Configuration {
   SCANNER_PACKAGE_TYPE_RUBYGEMS("snyk.scanner.packageType.gems", "false"),
   SCANNER_PACKAGE_TYPE_NUGET("snyk.scanner.packageType.nuget", "false"),
   SCANNER_PACKAGE_TYPE_COCOAPODS("snyk.scanner.packageType.cocoapods", "false"),
+  SCANNER_BATCH_ENABLED("snyk.scanner.batch.enabled", "false"),
+  SCANNER_BATCH_WINDOW_MILLIS("snyk.scanner.batch.window.ms", "50"),
+  SCANNER_BATCH_MAX_SIZE("snyk.scanner.batch.maxSize", "100"),
+  SCANNER_AFTER_CREATE_ASYNC("snyk.scanner.afterCreate.async", "false"),
+  SCANNER_AFTER_CREATE_WORKERS("snyk.scanner.afterCreate.workers", "4"),
+  SCANNER_AFTER_CREATE_QUEUE_SIZE("snyk.scanner.afterCreate.queueSize", "1000"),
+  SCANNER_AFTER_CREATE_QUEUE_FULL_POLICY("snyk.scanner.afterCreate.queueFullPolicy", "inline"),
+  SCANNER_AFTER_CREATE_SHUTDOWN_TIMEOUT_SECONDS("snyk.scanner.afterCreate.shutdownTimeout.seconds", "30"),
+  SCANNER_VIRTUAL_THREADS("snyk.scanner.virtualThreads.enabled", "false"),
   TEST_CONTINUOUSLY("snyk.scanner.test.continuously","false"),
   TEST_FREQUENCY_HOURS("snyk.scanner.frequency.hours", "168"),
   EXTEND_TEST_DEADLINE_HOURS("snyk.scanner.extendTestDeadline.hours", "24"),
+  SCANNER_STALE_WHILE_REVALIDATE("snyk.scanner.staleWhileRevalidate.enabled", "false"),
+  SCANNER_STALE_WHILE_REVALIDATE_THREADS("snyk.scanner.staleWhileRevalidate.threads", "2"),
+  SCANNER_REFRESH_AHEAD_ENABLED("snyk.scanner.refreshAhead.enabled", "false"),
+  SCANNER_REFRESH_AHEAD_HOURS("snyk.scanner.refreshAhead.hours", "12"),
+  SCANNER_REFRESH_AHEAD_INTERVAL_SECONDS("snyk.scanner.refreshAhead.interval.seconds", "60"),
+  SCANNER_REFRESH_AHEAD_MAX_PER_INTERVAL("snyk.scanner.refreshAhead.maxPerInterval", "50"),
+  SCANNER_REFRESH_AHEAD_MAX_TRACKED("snyk.scanner.refreshAhead.maxTracked", "50000"),
+  SCANNER_MEMORY_CACHE_MAX_ENTRIES("snyk.scanner.cache.memory.maxEntries", "10000"),
+  SCANNER_MEMORY_CACHE_TTL_SECONDS("snyk.scanner.cache.memory.ttl.seconds", "300"),
+  SCANNER_PACKAGE_CACHE_MAX_ENTRIES("snyk.scanner.cache.packages.maxEntries", "10000"),
+  SCANNER_PACKAGE_CACHE_TTL_SECONDS("snyk.scanner.cache.packages.ttl.seconds", "3600"),
+  SCANNER_REPOSITORY_CACHE_TTL_SECONDS("snyk.scanner.cache.repositories.ttl.seconds", "300"),
+  SCANNER_PERSISTENT_CACHE_ENABLED("snyk.scanner.cache.persistent.enabled", "false"),
   SCANNER_LAST_MODIFIED_DELAY_DAYS("snyk.scanner.lastModified.days", "0"),
   SCANNER_LAST_MODIFIED_ALLOWLIST("snyk.scanner.lastModified.allowlist", ""),
   /**
@@ -0,0 +1,72 @@
+package io.snyk.plugins.artifactory.configuration;
+
+import io.snyk.plugins.artifactory.model.ValidationSettings;
+import io.snyk.plugins.artifactory.scanner.RepoKeyAllowlist;
+
+import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.SCANNER_BLOCK_ON_API_FAILURE;
+import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.SCANNER_LAST_MODIFIED_ALLOWLIST;
+import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.TEST_CONTINUOUSLY;
+
+/**
+ * Settings read on every download, parsed once when the plugin is loaded. {@code snykSecurityReload} replaces
+ * the plugin together with its settings, so a download sees either the old or the new settings, never a mix.
+ */
+public final class PluginSettings {
+
+  private final ValidationSettings validationSettings;
+  private final boolean testContinuously;
+  private final boolean blockOnApiFailure;
+  private final RepoKeyAllowlist lastModifiedAllowlist;
+  private final boolean lastModifiedRemoteOnly;
+
+  private PluginSettings(
+    ValidationSettings validationSettings,
+    boolean testContinuously,
+    boolean blockOnApiFailure,
+    RepoKeyAllowlist lastModifiedAllowlist,
+    boolean lastModifiedRemoteOnly
+  ) {
+    this.validationSettings = validationSettings;
+    this.testContinuously = testContinuously;
+    this.blockOnApiFailure = blockOnApiFailure;
+    this.lastModifiedAllowlist = lastModifiedAllowlist;
+    this.lastModifiedRemoteOnly = lastModifiedRemoteOnly;
+  }
+
+  @SuppressWarnings("deprecation")
+  public static PluginSettings from(ConfigurationModule config) {
+    return new PluginSettings(
+      ValidationSettings.from(config),
+      "true".equals(config.getPropertyOrDefault(TEST_CONTINUOUSLY)),
+      "true".equals(config.getPropertyOrDefault(SCANNER_BLOCK_ON_API_FAILURE)),
+      RepoKeyAllowlist.parse(config.getPropertyOrDefault(SCANNER_LAST_MODIFIED_ALLOWLIST)),
+      "true".equals(config.getPropertyOrDefault(PluginConfiguration.SCANNER_LAST_MODIFIED_CHECK_ONLY_REMOTE))
+    );
+  }
+
+  public ValidationSettings getValidationSettings() {
+    return validationSettings;
+  }
+
+  public boolean shouldTestContinuously() {
+    return testContinuously;
+  }
+
+  public boolean shouldBlockOnApiFailure() {
+    return blockOnApiFailure;
+  }
+
+  /**
+   * Compiled repository key patterns of {@link PluginConfiguration#SCANNER_LAST_MODIFIED_ALLOWLIST}, empty when not set.
+   */
+  public RepoKeyAllowlist getLastModifiedAllowlist() {
+    return lastModifiedAllowlist;
+  }
+
+  /**
+   * @see PluginConfiguration#SCANNER_LAST_MODIFIED_CHECK_ONLY_REMOTE
+   */
+  public boolean isLastModifiedRemoteOnly() {
+    return lastModifiedRemoteOnly;
+  }
+}
@@ -14,4 +14,28 @@ public interface ArtifactProperties {
 
   /** Removes the property from the artifact if present. */
   void remove(ArtifactProperty property);
+
+  /**
+   * Properties of the same artifact for use on another thread, e.g. by a background test, that share no state
+   * with this instance.
+   */
+  default ArtifactProperties detach() {
+    return this;
+  }
+
+  /** Applies all changes of the update, one property at a time unless the implementation can do better. */
+  default void apply(PropertyUpdate update) {
+    update.getValues().forEach((property, value) -> {
+      if (value == null) {
+        remove(property);
+      } else {
+        set(property, value);
+      }
+    });
+    update.getDefaults().forEach((property, value) -> {
+      if (!has(property)) {
+        set(property, value);
+      }
+    });
+  }
 }
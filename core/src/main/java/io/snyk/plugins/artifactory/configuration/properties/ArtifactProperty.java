@@ -2,6 +2,9 @@ package io.snyk.plugins.artifactory.configuration.properties;
 
 public enum ArtifactProperty {
   TEST_TIMESTAMP("snyk.test.timestamp"),
+  /** Validators of the Snyk API response behind the stored result, sent on re-tests to skip unchanged responses. */
+  TEST_ETAG("snyk.test.etag"),
+  TEST_LAST_MODIFIED("snyk.test.lastModified"),
   ISSUE_URL("snyk.issue.url"),
   ISSUE_URL_PLAINTEXT("snyk.issue.url.plaintext"),
   ISSUE_VULNERABILITIES("snyk.issue.vulnerabilities"),
@@ -0,0 +1,44 @@
+package io.snyk.plugins.artifactory.configuration.properties;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Property changes to apply to an artifact together with {@link ArtifactProperties#apply(PropertyUpdate)}.
+ */
+public class PropertyUpdate {
+
+  /** A {@code null} value removes the property. */
+  private final Map<ArtifactProperty, String> values = new EnumMap<>(ArtifactProperty.class);
+  private final Map<ArtifactProperty, String> defaults = new EnumMap<>(ArtifactProperty.class);
+
+  public PropertyUpdate set(ArtifactProperty property, String value) {
+    values.put(property, value);
+    return this;
+  }
+
+  /**
+   * Sets the property only when the artifact does not have it yet.
+   */
+  public PropertyUpdate setIfAbsent(ArtifactProperty property, String value) {
+    defaults.put(property, value);
+    return this;
+  }
+
+  public PropertyUpdate remove(ArtifactProperty property) {
+    values.put(property, null);
+    return this;
+  }
+
+  /**
+   * @return the properties to set, mapped to {@code null} for those to remove
+   */
+  public Map<ArtifactProperty, String> getValues() {
+    return Collections.unmodifiableMap(values);
+  }
+
+  public Map<ArtifactProperty, String> getDefaults() {
+    return Collections.unmodifiableMap(defaults);
+  }
+}
@@ -1,19 +1,49 @@
 package io.snyk.plugins.artifactory.configuration.properties;
 
+import org.artifactory.md.Properties;
 import org.artifactory.repo.RepoPath;
 import org.artifactory.repo.Repositories;
 
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RepositoryArtifactProperties implements ArtifactProperties {
 
   private final RepoPath repoPath;
   private final Repositories repositories;
+  private final boolean snapshot;
+  /** All properties of the artifact in snapshot mode, once read. */
+  private volatile Map<String, Set<String>> values;
 
   public RepositoryArtifactProperties(RepoPath repoPath, Repositories repositories) {
+    this(repoPath, repositories, false);
+  }
 
+  private RepositoryArtifactProperties(RepoPath repoPath, Repositories repositories, boolean snapshot) {
     this.repoPath = repoPath;
     this.repositories = repositories;
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Properties that are read from Artifactory with a single call on first use and served from memory afterwards.
+   * Changes made through this instance are reflected, changes made elsewhere in the meantime are not.
+   * Meant for one download or test; work handed to another thread should use {@link #detach()}.
+   */
+  public static RepositoryArtifactProperties snapshot(RepoPath repoPath, Repositories repositories) {
+    return new RepositoryArtifactProperties(repoPath, repositories, true);
+  }
+
+  /**
+   * A new snapshot, read again from Artifactory on first use, so that a background test does not share
+   * the snapshot of the download that started it.
+   */
+  @Override
+  public ArtifactProperties detach() {
+    return snapshot ? snapshot(repoPath, repositories) : this;
   }
 
   @Override
@@ -23,24 +53,84 @@ public class RepositoryArtifactProperties implements ArtifactProperties {
 
   @Override
   public Optional<String> get(ArtifactProperty key) {
+    if (snapshot) {
+      Set<String> value = values().get(key.propertyKey());
+      return value == null ? Optional.empty() : value.stream().findFirst();
+    }
     return Optional.ofNullable(repositories.getProperty(repoPath, key.propertyKey()));
   }
 
   @Override
   public void set(ArtifactProperty property, String value) {
     repositories.setProperty(repoPath, property.propertyKey(), value);
+    if (snapshot) {
+      values().put(property.propertyKey(), Set.of(value));
+    }
   }
 
   @Override
   public boolean has(ArtifactProperty property) {
+    if (snapshot) {
+      return values().containsKey(property.propertyKey());
+    }
     return repositories.hasProperty(repoPath, property.propertyKey());
   }
 
   @Override
   public void remove(ArtifactProperty property) {
-    if (!repositories.hasProperty(repoPath, property.propertyKey())) {
+    if (!has(property)) {
       return;
     }
     repositories.deleteProperty(repoPath, property.propertyKey());
+    if (snapshot) {
+      values().remove(property.propertyKey());
+    }
+  }
+
+  /**
+   * Reads all properties of the artifact once and only writes those that change, instead of checking each one.
+   * The read is not served from a snapshot, so that properties a user set while the artifact was tested are kept.
+   */
+  @Override
+  public void apply(PropertyUpdate update) {
+    Map<String, Set<String>> current = read();
+    update.getValues().forEach((property, value) -> {
+      String key = property.propertyKey();
+      if (value == null) {
+        if (current.remove(key) != null) {
+          repositories.deleteProperty(repoPath, key);
+        }
+      } else if (!Set.of(value).equals(current.put(key, Set.of(value)))) {
+        repositories.setProperty(repoPath, key, value);
+      }
+    });
+    update.getDefaults().forEach((property, value) -> {
+      if (current.putIfAbsent(property.propertyKey(), Set.of(value)) == null) {
+        repositories.setProperty(repoPath, property.propertyKey(), value);
+      }
+    });
+    if (snapshot) {
+      values = current;
+    }
+  }
+
+  private Map<String, Set<String>> values() {
+    Map<String, Set<String>> read = values;
+    if (read == null) {
+      read = read();
+      values = read;
+    }
+    return read;
+  }
+
+  private Map<String, Set<String>> read() {
+    Map<String, Set<String>> copy = new ConcurrentHashMap<>();
+    Properties properties = repositories.getProperties(repoPath);
+    if (properties != null) {
+      for (String key : properties.keySet()) {
+        copy.put(key, new LinkedHashSet<>(properties.get(key)));
+      }
+    }
+    return copy;
   }
 }
@@ -0,0 +1,74 @@
+package io.snyk.plugins.artifactory.ecosystem;
+
+import io.snyk.plugins.artifactory.cache.ExpiringCache;
+import org.artifactory.repo.Repositories;
+import org.artifactory.repo.RepositoryConfiguration;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Package type and type of repositories by repository key, so that downloads do not look up the repository
+ * configuration every time. Entries expire after the time-to-live and are dropped on {@code snykSecurityReload},
+ * which creates a new cache. A time-to-live of zero disables caching.
+ */
+public class RepositoryMetadataCache {
+
+  private static final int MAX_REPOSITORIES = 10_000;
+
+  private final Repositories repositories;
+  private final ExpiringCache<String, RepositoryMetadata> cache;
+
+  public RepositoryMetadataCache(Repositories repositories, Duration ttl) {
+    this.repositories = repositories;
+    this.cache = new ExpiringCache<>(MAX_REPOSITORIES, ttl);
+  }
+
+  /**
+   * @return empty when Artifactory has no configuration for the repository, which is not cached
+   */
+  public Optional<RepositoryMetadata> get(String repoKey) {
+    Optional<RepositoryMetadata> cached = cache.get(repoKey);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    RepositoryConfiguration configuration = repositories.getRepositoryConfiguration(repoKey);
+    if (configuration == null) {
+      return Optional.empty();
+    }
+    RepositoryMetadata metadata = new RepositoryMetadata(configuration.getPackageType(), configuration.getType());
+    cache.put(repoKey, metadata);
+    return Optional.of(metadata);
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public static final class RepositoryMetadata {
+    private final String packageType;
+    private final String type;
+
+    RepositoryMetadata(String packageType, String type) {
+      this.packageType = packageType;
+      this.type = type;
+    }
+
+    public Optional<String> getPackageType() {
+      return Optional.ofNullable(packageType);
+    }
+
+    public boolean isRemote() {
+      return type != null && type.toLowerCase(Locale.ROOT).equals("remote");
+    }
+
+    @Override
+    public String toString() {
+      return "RepositoryMetadata{" +
+        "packageType='" + packageType + '\'' +
+        ", type='" + type + '\'' +
+        '}';
+    }
+  }
+}
@@ -2,36 +2,40 @@ package io.snyk.plugins.artifactory.ecosystem;
 
 import org.artifactory.repo.RepoPath;
 import org.artifactory.repo.Repositories;
-import org.artifactory.repo.RepositoryConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.Optional;
 
 public class RepositoryMetadataEcosystemResolver implements EcosystemResolver {
 
   private static final Logger LOG = LoggerFactory.getLogger(RepositoryMetadataEcosystemResolver.class);
 
-  private final Repositories repositories;
+  private final RepositoryMetadataCache repositoryMetadata;
 
   public RepositoryMetadataEcosystemResolver(Repositories repositories) {
-    this.repositories = repositories;
+    this(new RepositoryMetadataCache(repositories, Duration.ZERO));
+  }
+
+  public RepositoryMetadataEcosystemResolver(RepositoryMetadataCache repositoryMetadata) {
+    this.repositoryMetadata = repositoryMetadata;
   }
 
   @Override
   public Optional<Ecosystem> getFor(RepoPath repoPath) {
-    RepositoryConfiguration repositoryConfiguration = repositories.getRepositoryConfiguration(repoPath.getRepoKey());
-    if(repositoryConfiguration == null) {
+    Optional<RepositoryMetadataCache.RepositoryMetadata> metadata = repositoryMetadata.get(repoPath.getRepoKey());
+    if(metadata.isEmpty()) {
       LOG.error("No repository configuration for {}", repoPath);
       return Optional.empty();
     }
 
-    String packageType = repositoryConfiguration.getPackageType();
-    if(packageType == null) {
+    Optional<String> packageType = metadata.get().getPackageType();
+    if(packageType.isEmpty()) {
       LOG.error("No package type for {}", repoPath);
       return Optional.empty();
     }
 
-    return Ecosystem.match(packageType, repoPath.getPath());
+    return Ecosystem.match(packageType.get(), repoPath.getPath());
   }
 }
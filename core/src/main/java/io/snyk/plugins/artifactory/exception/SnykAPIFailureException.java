@@ -2,12 +2,30 @@ package io.snyk.plugins.artifactory.exception;
 
 import io.snyk.sdk.api.SnykResult;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
 public class SnykAPIFailureException extends RuntimeException {
   public SnykAPIFailureException(SnykResult<?> result) {
     super("Snyk API request was not successful. (" + result.statusCode + ")");
   }
 
-  public SnykAPIFailureException(Exception cause) {
+  public SnykAPIFailureException(Throwable cause) {
     super("Snyk API request encountered an unexpected error.", cause);
   }
+
+  /**
+   * Unwraps the completion wrappers added by {@link java.util.concurrent.CompletableFuture} and returns the
+   * underlying failure as a {@link SnykAPIFailureException}, reusing it when it already is one.
+   */
+  public static SnykAPIFailureException from(Throwable error) {
+    Throwable cause = error;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof SnykAPIFailureException) {
+      return (SnykAPIFailureException) cause;
+    }
+    return new SnykAPIFailureException(cause);
+  }
 }
@@ -31,6 +31,10 @@ public class IssueSummary {
     return IssueSummary.from(issues.stream().map(i -> i.severity));
   }
 
+  public static IssueSummary from(Map<Severity, Integer> countBySeverity) {
+    return new IssueSummary(new HashMap<>(countBySeverity));
+  }
+
   public static IssueSummary from(Stream<Severity> severities) {
     return new IssueSummary(severities.collect(Collectors.toMap(s -> s, s -> 1, Integer::sum)));
   }
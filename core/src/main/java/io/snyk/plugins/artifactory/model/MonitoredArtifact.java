@@ -1,7 +1,7 @@
 package io.snyk.plugins.artifactory.model;
 
 import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperties;
-import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty;
+import io.snyk.plugins.artifactory.configuration.properties.PropertyUpdate;
 import org.slf4j.Logger;
 
 import java.util.Objects;
@@ -55,25 +55,29 @@ public class MonitoredArtifact {
    this.lastModifiedDate = lastModifiedDate;
   }
 
+  /**
+   * A copy with the given last modified date, leaving this artifact unchanged since it may be shared by
+   * concurrent downloads through the in-memory cache.
+   */
+  public MonitoredArtifact withLastModifiedDate(Instant lastModifiedDate) {
+    return new MonitoredArtifact(path, testResult, ignores, lastModifiedDate);
+  }
+
   public MonitoredArtifact write(ArtifactProperties properties) {
-    testResult.write(properties);
+    PropertyUpdate update = new PropertyUpdate();
+    testResult.write(update, properties.getArtifactPath());
 
-    setDefaultArtifactProperty(properties, ISSUE_VULNERABILITIES_FORCE_DOWNLOAD, "false");
-    setDefaultArtifactProperty(properties, ISSUE_VULNERABILITIES_FORCE_DOWNLOAD_INFO, "");
-    setDefaultArtifactProperty(properties, ISSUE_LICENSES_FORCE_DOWNLOAD, "false");
-    setDefaultArtifactProperty(properties, ISSUE_LICENSES_FORCE_DOWNLOAD_INFO, "");
+    update.setIfAbsent(ISSUE_VULNERABILITIES_FORCE_DOWNLOAD, "false");
+    update.setIfAbsent(ISSUE_VULNERABILITIES_FORCE_DOWNLOAD_INFO, "");
+    update.setIfAbsent(ISSUE_LICENSES_FORCE_DOWNLOAD, "false");
+    update.setIfAbsent(ISSUE_LICENSES_FORCE_DOWNLOAD_INFO, "");
 
-    properties.remove(BLOCK_REASON);
+    update.remove(BLOCK_REASON);
 
+    properties.apply(update);
     return this;
   }
 
-  private void setDefaultArtifactProperty(ArtifactProperties properties, ArtifactProperty property, String value) {
-    if (!properties.has(property)) {
-      properties.set(property, value);
-    }
-  }
-
   public static Optional<MonitoredArtifact> read(ArtifactProperties properties) {
     try {
       return TestResult.read(properties).map(testResult ->
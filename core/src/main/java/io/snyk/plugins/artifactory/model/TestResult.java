@@ -1,6 +1,9 @@
 package io.snyk.plugins.artifactory.model;
 
 import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperties;
+import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty;
+import io.snyk.plugins.artifactory.configuration.properties.PropertyUpdate;
+import io.snyk.sdk.api.ResponseValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,16 +21,28 @@ public class TestResult {
   private final IssueSummary vulnSummary;
   private final IssueSummary licenseSummary;
   private final URI detailsUrl;
+  private final ResponseValidator validator;
+  private final boolean unchanged;
 
   public TestResult(IssueSummary vulnSummary, IssueSummary licenseSummary, URI detailsUrl) {
     this(ZonedDateTime.now(), vulnSummary, licenseSummary, detailsUrl);
   }
 
   public TestResult(ZonedDateTime timestamp, IssueSummary vulnSummary, IssueSummary licenseSummary, URI detailsUrl) {
+    this(timestamp, vulnSummary, licenseSummary, detailsUrl, Optional.empty());
+  }
+
+  public TestResult(ZonedDateTime timestamp, IssueSummary vulnSummary, IssueSummary licenseSummary, URI detailsUrl, Optional<ResponseValidator> validator) {
+    this(timestamp, vulnSummary, licenseSummary, detailsUrl, validator.orElse(null), false);
+  }
+
+  private TestResult(ZonedDateTime timestamp, IssueSummary vulnSummary, IssueSummary licenseSummary, URI detailsUrl, ResponseValidator validator, boolean unchanged) {
     this.timestamp = timestamp;
     this.vulnSummary = vulnSummary;
     this.licenseSummary = licenseSummary;
     this.detailsUrl = detailsUrl;
+    this.validator = validator;
+    this.unchanged = unchanged;
   }
 
   public IssueSummary getVulnSummary() {
@@ -46,13 +61,72 @@ public class TestResult {
     return timestamp;
   }
 
+  /**
+   * Validator of the Snyk API response this result was built from, to make the next test of the package conditional.
+   */
+  public Optional<ResponseValidator> getValidator() {
+    return Optional.ofNullable(validator);
+  }
+
+  public TestResult withValidator(Optional<ResponseValidator> validator) {
+    return new TestResult(timestamp, vulnSummary, licenseSummary, detailsUrl, validator.orElse(null), unchanged);
+  }
+
+  /**
+   * This result, tested again now, for when Snyk API reported the issues as unchanged.
+   */
+  public TestResult revalidated() {
+    return new TestResult(ZonedDateTime.now(), vulnSummary, licenseSummary, detailsUrl, validator, false);
+  }
+
+  /**
+   * Whether this result only differs from {@code previous} in when it was tested.
+   */
+  public boolean isUnchangedFrom(TestResult previous) {
+    return Objects.equals(vulnSummary, previous.vulnSummary)
+      && Objects.equals(licenseSummary, previous.licenseSummary)
+      && Objects.equals(detailsUrl, previous.detailsUrl)
+      && Objects.equals(validator, previous.validator);
+  }
+
+  /**
+   * This result, to be written over the unchanged result it was tested against. Writing it only updates the timestamp.
+   */
+  public TestResult asUnchanged() {
+    return new TestResult(timestamp, vulnSummary, licenseSummary, detailsUrl, validator, true);
+  }
+
   public void write(ArtifactProperties properties) {
-    LOG.info("Writing Snyk properties for package {} - artifactory path {}", detailsUrl, properties.getArtifactPath());
-    properties.set(TEST_TIMESTAMP, timestamp.toString());
-    properties.set(ISSUE_VULNERABILITIES, vulnSummary.toString());
-    properties.set(ISSUE_LICENSES, licenseSummary.toString());
-    properties.set(ISSUE_URL, detailsUrl.toString());
-    properties.set(ISSUE_URL_PLAINTEXT, " " + detailsUrl);
+    PropertyUpdate update = new PropertyUpdate();
+    write(update, properties.getArtifactPath());
+    properties.apply(update);
+  }
+
+  void write(PropertyUpdate update, String artifactPath) {
+    if (unchanged) {
+      LOG.debug("Snyk Test result unchanged, only updating its timestamp - artifactory path {}", artifactPath);
+      update.set(TEST_TIMESTAMP, timestamp.toString());
+      return;
+    }
+    LOG.info("Writing Snyk properties for package {} - artifactory path {}", detailsUrl, artifactPath);
+    update.set(TEST_TIMESTAMP, timestamp.toString());
+    update.set(ISSUE_VULNERABILITIES, vulnSummary.toString());
+    update.set(ISSUE_LICENSES, licenseSummary.toString());
+    update.set(ISSUE_URL, detailsUrl.toString());
+    update.set(ISSUE_URL_PLAINTEXT, " " + detailsUrl);
+    writeValidator(update, TEST_ETAG, getValidator().flatMap(ResponseValidator::getEtag));
+    writeValidator(update, TEST_LAST_MODIFIED, getValidator().flatMap(ResponseValidator::getLastModified));
+  }
+
+  /**
+   * A validator the latest response did not have is removed, so that it cannot mark an outdated result as current.
+   */
+  private static void writeValidator(PropertyUpdate update, ArtifactProperty property, Optional<String> value) {
+    if (value.isPresent()) {
+      update.set(property, value.get());
+    } else {
+      update.remove(property);
+    }
   }
 
   public static Optional<TestResult> read(ArtifactProperties properties) {
@@ -70,7 +144,8 @@ public class TestResult {
       timestamp.get(),
       vulns.get(),
       licenses.get(),
-      detailsUrl.get()
+      detailsUrl.get(),
+      ResponseValidator.of(properties.get(TEST_ETAG).orElse(null), properties.get(TEST_LAST_MODIFIED).orElse(null))
     ));
   }
 
@@ -79,12 +154,12 @@ public class TestResult {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     TestResult that = (TestResult) o;
-    return Objects.equals(timestamp, that.timestamp) && Objects.equals(vulnSummary, that.vulnSummary) && Objects.equals(licenseSummary, that.licenseSummary) && Objects.equals(detailsUrl, that.detailsUrl);
+    return Objects.equals(timestamp, that.timestamp) && Objects.equals(vulnSummary, that.vulnSummary) && Objects.equals(licenseSummary, that.licenseSummary) && Objects.equals(detailsUrl, that.detailsUrl) && Objects.equals(validator, that.validator);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(timestamp, vulnSummary, licenseSummary, detailsUrl);
+    return Objects.hash(timestamp, vulnSummary, licenseSummary, detailsUrl, validator);
   }
 
   @Override
@@ -94,6 +169,7 @@ public class TestResult {
       ", vulnSummary=" + vulnSummary +
       ", licenseSummary=" + licenseSummary +
       ", detailsUrl=" + detailsUrl +
+      ", validator=" + validator +
       '}';
   }
 }
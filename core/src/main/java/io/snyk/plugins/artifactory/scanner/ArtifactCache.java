@@ -7,6 +7,10 @@ import org.slf4j.Logger;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -19,9 +23,23 @@ public class ArtifactCache implements ArtifactResolver {
 
   private final Duration extendTestDeadline;
 
+  private final Executor revalidationExecutor;
+
+  private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
   public ArtifactCache(Duration testFrequency, Duration extendTestDeadline) {
+    this(testFrequency, extendTestDeadline, null);
+  }
+
+  /**
+   * With a {@code revalidationExecutor}, a result that is due for a test but still within the extended deadline
+   * is served immediately while the test runs in the background (stale-while-revalidate).
+   * At most one background test runs per artifact at a time.
+   */
+  public ArtifactCache(Duration testFrequency, Duration extendTestDeadline, Executor revalidationExecutor) {
     this.testFrequency = testFrequency;
     this.extendTestDeadline = extendTestDeadline;
+    this.revalidationExecutor = revalidationExecutor;
   }
 
   @Override
@@ -39,6 +57,12 @@ public class ArtifactCache implements ArtifactResolver {
 
     LOG.info("Snyk Test due for {}", properties.getArtifactPath());
 
+    if (withinHardDeadline(artifact.get()) && revalidationExecutor != null) {
+      revalidate(properties, fetch);
+      LOG.info("Using previous Snyk Test result until it is revalidated, at the latest until {} - {}", nextTestHardDeadline(artifact.get()), properties.getArtifactPath());
+      return artifact;
+    }
+
     if (withinHardDeadline(artifact.get())) {
       try {
         return fetchAndStore(properties, fetch);
@@ -51,6 +75,29 @@ public class ArtifactCache implements ArtifactResolver {
     return fetchAndStore(properties, fetch);
   }
 
+  private void revalidate(ArtifactProperties properties, Supplier<Optional<MonitoredArtifact>> fetch) {
+    String path = properties.getArtifactPath();
+    if (!revalidating.add(path)) {
+      LOG.debug("Snyk Test already running in the background for {}", path);
+      return;
+    }
+    try {
+      ArtifactProperties background = properties.detach();
+      revalidationExecutor.execute(() -> {
+        try {
+          fetchAndStore(background, fetch);
+        } catch (RuntimeException e) {
+          LOG.info("Background Snyk Test failed for package {}. Error was {}", path, e.getMessage());
+        } finally {
+          revalidating.remove(path);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      revalidating.remove(path);
+      LOG.debug("Could not start background Snyk Test for {}: {}", path, e.getMessage());
+    }
+  }
+
   private Optional<MonitoredArtifact> fetchAndStore(ArtifactProperties properties, Supplier<Optional<MonitoredArtifact>> fetch) {
     return fetch.get().map(artifact -> artifact.write(properties));
   }
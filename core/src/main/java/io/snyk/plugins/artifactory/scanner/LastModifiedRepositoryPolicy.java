@@ -6,13 +6,13 @@ import java.util.List;
 
 /**
  * Parses {@link io.snyk.plugins.artifactory.configuration.PluginConfiguration#SCANNER_LAST_MODIFIED_ALLOWLIST}
- * and decides whether a repository key matches any allowlisted substring.
+ * and decides whether a repository key matches any allowlisted pattern, see {@link RepoKeyAllowlist}.
  */
-final class LastModifiedRepositoryPolicy {
+public final class LastModifiedRepositoryPolicy {
 
   private LastModifiedRepositoryPolicy() {}
 
-  static List<String> parseAllowlist(String raw) {
+  public static List<String> parseAllowlist(String raw) {
     if (raw == null || raw.isBlank()) {
       return List.of();
     }
@@ -26,12 +26,7 @@ final class LastModifiedRepositoryPolicy {
     return out.isEmpty() ? List.of() : Collections.unmodifiableList(out);
   }
 
-  static boolean repoKeyMatchesAllowlist(String repoKey, List<String> substrings) {
-    for (String s : substrings) {
-      if (repoKey.contains(s)) {
-        return true;
-      }
-    }
-    return false;
+  static boolean repoKeyMatchesAllowlist(String repoKey, RepoKeyAllowlist allowlist) {
+    return allowlist.matches(repoKey);
   }
 }
@@ -0,0 +1,48 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import io.snyk.plugins.artifactory.cache.ExpiringCache;
+import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperties;
+import io.snyk.plugins.artifactory.model.MonitoredArtifact;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps recently resolved artifacts in memory in front of another {@link ArtifactResolver},
+ * so hot artifacts skip the repository property lookups and parsing on every download.
+ * Entries are evicted by size and age, and explicitly invalidated when Snyk properties of an artifact change.
+ */
+public class MemoryCachedArtifactResolver implements ArtifactResolver {
+
+  private static final Logger LOG = getLogger(MemoryCachedArtifactResolver.class);
+
+  private final ArtifactResolver delegate;
+  private final ExpiringCache<String, MonitoredArtifact> cache;
+
+  public MemoryCachedArtifactResolver(ArtifactResolver delegate, int maxEntries, Duration ttl) {
+    this.delegate = delegate;
+    this.cache = new ExpiringCache<>(maxEntries, ttl);
+  }
+
+  @Override
+  public Optional<MonitoredArtifact> get(ArtifactProperties properties, Supplier<Optional<MonitoredArtifact>> fetch) {
+    String path = properties.getArtifactPath();
+    Optional<MonitoredArtifact> cached = cache.get(path);
+    if (cached.isPresent()) {
+      LOG.debug("Using in-memory Snyk Test result for {}", path);
+      return cached;
+    }
+
+    Optional<MonitoredArtifact> artifact = delegate.get(properties, fetch);
+    artifact.ifPresent(a -> cache.put(path, a));
+    return artifact;
+  }
+
+  public void invalidate(String artifactPath) {
+    cache.invalidate(artifactPath);
+  }
+}
@@ -0,0 +1,47 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import io.snyk.plugins.artifactory.cache.ExpiringCache;
+import io.snyk.plugins.artifactory.model.TestResult;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Shares Snyk Test results between artifacts of the same package version, keyed by package URL.
+ * A package proxied by a remote repository, its cache and any number of virtual repositories is tested once,
+ * and every repository path resolving to the same purl reuses that result until it expires.
+ * Concurrent tests of the same purl are collapsed into a single call.
+ */
+public class PackageResultStore {
+
+  private static final Logger LOG = getLogger(PackageResultStore.class);
+
+  private final ExpiringCache<String, TestResult> results;
+  private final SingleFlight<String, TestResult> inFlight = new SingleFlight<>();
+
+  public PackageResultStore(int maxEntries, Duration ttl) {
+    this.results = new ExpiringCache<>(maxEntries, ttl);
+  }
+
+  public TestResult get(String purl, Supplier<TestResult> test) {
+    Optional<TestResult> cached = results.get(purl);
+    if (cached.isPresent()) {
+      LOG.debug("Reusing Snyk Test result of {}", purl);
+      return cached.get();
+    }
+
+    return inFlight.run(purl, () -> results.get(purl).orElseGet(() -> {
+      TestResult result = test.get();
+      results.put(purl, result);
+      return result;
+    }));
+  }
+
+  public void invalidate(String purl) {
+    results.invalidate(purl);
+  }
+}
@@ -4,6 +4,35 @@ import io.snyk.plugins.artifactory.model.TestResult;
 import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 public interface PackageScanner {
   TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath);
+
+  /**
+   * Tests a package again. Scanners that support it send the validator of the {@code previous} result, so that an
+   * unchanged result is confirmed by Snyk API without a body and returned as {@link TestResult#revalidated()}.
+   */
+  default TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    return scan(fileLayoutInfo, repoPath);
+  }
+
+  /**
+   * Non-blocking variant of {@link #scan(FileLayoutInfo, RepoPath)}.
+   * Package details are resolved on the calling thread, so a {@link io.snyk.plugins.artifactory.exception.CannotScanException}
+   * is thrown directly, while API failures complete the future exceptionally.
+   * Scanners that cannot issue requests asynchronously fall back to running {@link #scan} inline.
+   */
+  default CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return CompletableFuture.completedFuture(scan(fileLayoutInfo, repoPath));
+  }
+
+  /**
+   * The package URL of the scanned package version. Artifacts in different repositories that resolve to the
+   * same purl share a single Snyk test. Scanners returning empty are always tested per artifact.
+   */
+  default Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,126 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import io.snyk.plugins.artifactory.cache.AppendOnlyStore;
+import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperties;
+import io.snyk.plugins.artifactory.model.Ignores;
+import io.snyk.plugins.artifactory.model.IssueSummary;
+import io.snyk.plugins.artifactory.model.MonitoredArtifact;
+import io.snyk.plugins.artifactory.model.TestResult;
+import io.snyk.sdk.api.ResponseValidator;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps Snyk Test results in an {@link AppendOnlyStore} on disk in front of another {@link ArtifactResolver},
+ * so results survive plugin reloads and Artifactory restarts without reading the result properties of every
+ * artifact again. Ignores are user-controlled and are always read from the artifact properties.
+ * <p>
+ * A stored result is used while it is younger than {@code maxAge}; older results are resolved by the delegate,
+ * which decides whether to run a new test.
+ */
+public class PersistentArtifactResolver implements ArtifactResolver, Closeable {
+
+  private static final Logger LOG = getLogger(PersistentArtifactResolver.class);
+
+  private final ArtifactResolver delegate;
+  private final AppendOnlyStore store;
+  private final Duration maxAge;
+
+  public PersistentArtifactResolver(ArtifactResolver delegate, AppendOnlyStore store, Duration maxAge) {
+    this.delegate = delegate;
+    this.store = store;
+    this.maxAge = maxAge;
+  }
+
+  @Override
+  public Optional<MonitoredArtifact> get(ArtifactProperties properties, Supplier<Optional<MonitoredArtifact>> fetch) {
+    String path = properties.getArtifactPath();
+    Optional<TestResult> stored = read(path);
+    if (stored.isPresent() && isFresh(stored.get())) {
+      LOG.debug("Using stored Snyk Test result for {}", path);
+      return Optional.of(new MonitoredArtifact(path, stored.get(), Ignores.read(properties)));
+    }
+
+    Optional<MonitoredArtifact> artifact = delegate.get(properties, fetch);
+    artifact
+      .map(MonitoredArtifact::getTestResult)
+      .filter(result -> !stored.equals(Optional.of(result)))
+      .ifPresent(result -> put(path, result));
+    return artifact;
+  }
+
+  public void put(String artifactPath, TestResult testResult) {
+    try {
+      store.put(artifactPath, encode(testResult));
+    } catch (IOException e) {
+      LOG.warn("Could not store Snyk Test result of {}: {}", artifactPath, e.getMessage());
+    }
+  }
+
+  public void invalidate(String artifactPath) {
+    try {
+      store.remove(artifactPath);
+    } catch (IOException e) {
+      LOG.warn("Could not remove stored Snyk Test result of {}: {}", artifactPath, e.getMessage());
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    store.close();
+  }
+
+  private boolean isFresh(TestResult testResult) {
+    return Duration.between(testResult.getTimestamp(), ZonedDateTime.now()).compareTo(maxAge) < 0;
+  }
+
+  private Optional<TestResult> read(String artifactPath) {
+    return store.get(artifactPath).flatMap(value -> decode(artifactPath, value));
+  }
+
+  static byte[] encode(TestResult testResult) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeUTF(testResult.getTimestamp().toString());
+      out.writeUTF(testResult.getVulnSummary().toString());
+      out.writeUTF(testResult.getLicenseSummary().toString());
+      out.writeUTF(testResult.getDetailsUrl().toString());
+      out.writeUTF(testResult.getValidator().flatMap(ResponseValidator::getEtag).orElse(""));
+      out.writeUTF(testResult.getValidator().flatMap(ResponseValidator::getLastModified).orElse(""));
+    }
+    return bytes.toByteArray();
+  }
+
+  static Optional<TestResult> decode(String artifactPath, byte[] value) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(value))) {
+      ZonedDateTime timestamp = ZonedDateTime.parse(in.readUTF());
+      Optional<IssueSummary> vulns = IssueSummary.parse(in.readUTF());
+      Optional<IssueSummary> licenses = IssueSummary.parse(in.readUTF());
+      URI detailsUrl = URI.create(in.readUTF());
+      // results stored before validators were kept end here
+      Optional<ResponseValidator> validator = in.available() > 0
+        ? ResponseValidator.of(in.readUTF(), in.readUTF())
+        : Optional.empty();
+      if (vulns.isEmpty() || licenses.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(new TestResult(timestamp, vulns.get(), licenses.get(), detailsUrl, validator));
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Ignoring unreadable stored Snyk Test result of {}: {}", artifactPath, e.getMessage());
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import org.artifactory.repo.RepoPath;
+import org.slf4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Re-tests recently downloaded artifacts in the background shortly before their next test is due,
+ * so that downloads in continuous mode find a fresh result instead of waiting for Snyk.
+ * <p>
+ * Artifacts are tracked in memory as they are downloaded. An artifact not downloaded for a whole test period
+ * is no longer tracked, and is re-tested on its next download as before. Each tick refreshes at most
+ * {@code maxPerTick} artifacts, those due soonest first.
+ */
+public class RefreshAheadScheduler {
+
+  private static final Logger LOG = getLogger(RefreshAheadScheduler.class);
+
+  private final Duration testFrequency;
+  private final Duration refreshAhead;
+  private final int maxPerTick;
+  private final int maxTracked;
+  private final Clock clock;
+  private final Function<RepoPath, Optional<ZonedDateTime>> refresh;
+  private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * @param refresh re-tests an artifact and returns the timestamp of its new result
+   */
+  public RefreshAheadScheduler(
+    Duration testFrequency,
+    Duration refreshAhead,
+    int maxPerTick,
+    int maxTracked,
+    Clock clock,
+    Function<RepoPath, Optional<ZonedDateTime>> refresh
+  ) {
+    this.testFrequency = testFrequency;
+    this.refreshAhead = refreshAhead;
+    this.maxPerTick = maxPerTick;
+    this.maxTracked = maxTracked;
+    this.clock = clock;
+    this.refresh = refresh;
+  }
+
+  public synchronized void start(Duration interval) {
+    if (scheduler != null) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "snyk-refresh-ahead");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::tickSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public synchronized void close() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  public void recordDownload(RepoPath repoPath, ZonedDateTime testedAt) {
+    String key = repoPath.toString();
+    Tracked existing = tracked.get(key);
+    if (existing == null && tracked.size() >= maxTracked) {
+      return;
+    }
+    tracked.put(key, new Tracked(repoPath, testedAt.toInstant(), clock.instant()));
+  }
+
+  public int trackedCount() {
+    return tracked.size();
+  }
+
+  void tick() {
+    Instant now = clock.instant();
+    tracked.values().removeIf(entry -> entry.lastDownload.plus(testFrequency).isBefore(now));
+
+    List<Tracked> due = tracked.values().stream()
+      .filter(entry -> !entry.testedAt.plus(testFrequency).minus(refreshAhead).isAfter(now))
+      .sorted(Comparator.comparing(entry -> entry.testedAt))
+      .limit(maxPerTick)
+      .collect(Collectors.toList());
+    if (due.isEmpty()) {
+      return;
+    }
+
+    LOG.debug("Refreshing Snyk Test results of {} artifacts ahead of their next test", due.size());
+    for (Tracked entry : due) {
+      String key = entry.repoPath.toString();
+      try {
+        Optional<ZonedDateTime> testedAt = refresh.apply(entry.repoPath);
+        if (testedAt.isPresent()) {
+          tracked.computeIfPresent(key, (k, current) -> new Tracked(current.repoPath, testedAt.get().toInstant(), current.lastDownload));
+        } else {
+          tracked.remove(key);
+        }
+      } catch (RuntimeException e) {
+        LOG.debug("Could not refresh Snyk Test result of {}, leaving it to the next download: {}", entry.repoPath, e.getMessage());
+        tracked.remove(key);
+      }
+    }
+  }
+
+  private void tickSafely() {
+    try {
+      tick();
+    } catch (RuntimeException e) {
+      LOG.warn("Refreshing Snyk Test results failed: {}", e.getMessage());
+    }
+  }
+
+  private static final class Tracked {
+    private final RepoPath repoPath;
+    private final Instant testedAt;
+    private final Instant lastDownload;
+
+    private Tracked(RepoPath repoPath, Instant testedAt, Instant lastDownload) {
+      this.repoPath = repoPath;
+      this.testedAt = testedAt;
+      this.lastDownload = lastDownload;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Repository key patterns, compiled once so that matching a key does not depend on the number of patterns.
+ * <ul>
+ * <li>{@code glob:<pattern>} matches the whole key, with {@code *} for any characters and {@code ?} for one.</li>
+ * <li>{@code regex:<pattern>} matches when the regular expression is found anywhere in the key.</li>
+ * <li>Anything else matches when the key contains it.</li>
+ * </ul>
+ * Plain substrings are matched together by one Aho-Corasick automaton and globs by one combined pattern.
+ * Regular expressions are compiled separately, so that their groups and backreferences keep their numbering.
+ * Results are remembered per key, since Artifactory has a limited number of repositories.
+ */
+public final class RepoKeyAllowlist {
+
+  static final String GLOB_PREFIX = "glob:";
+  static final String REGEX_PREFIX = "regex:";
+  private static final int MAX_REMEMBERED_KEYS = 10_000;
+  private static final RepoKeyAllowlist EMPTY = new RepoKeyAllowlist(List.of());
+
+  private final List<String> patterns;
+  private final SubstringAutomaton substrings;
+  private final Pattern globs;
+  private final List<Pattern> regexes;
+  private final Map<String, Boolean> matches = new ConcurrentHashMap<>();
+
+  private RepoKeyAllowlist(List<String> patterns) {
+    this.patterns = List.copyOf(patterns);
+    List<String> plain = new ArrayList<>();
+    List<String> globExpressions = new ArrayList<>();
+    List<Pattern> regexes = new ArrayList<>();
+    for (String pattern : patterns) {
+      if (pattern.startsWith(GLOB_PREFIX)) {
+        globExpressions.add("^(?:" + globToRegex(pattern.substring(GLOB_PREFIX.length())) + ")$");
+      } else if (pattern.startsWith(REGEX_PREFIX)) {
+        regexes.add(Pattern.compile(pattern.substring(REGEX_PREFIX.length())));
+      } else {
+        plain.add(pattern);
+      }
+    }
+    this.substrings = plain.isEmpty() ? null : new SubstringAutomaton(plain);
+    this.globs = globExpressions.isEmpty() ? null : Pattern.compile(String.join("|", globExpressions));
+    this.regexes = List.copyOf(regexes);
+  }
+
+  public static RepoKeyAllowlist of(List<String> patterns) {
+    return patterns.isEmpty() ? EMPTY : new RepoKeyAllowlist(patterns);
+  }
+
+  /**
+   * Parses a comma-separated list of patterns.
+   *
+   * @throws java.util.regex.PatternSyntaxException when a {@code regex:} pattern is invalid
+   */
+  public static RepoKeyAllowlist parse(String raw) {
+    return of(LastModifiedRepositoryPolicy.parseAllowlist(raw));
+  }
+
+  public boolean isEmpty() {
+    return patterns.isEmpty();
+  }
+
+  public boolean matches(String repoKey) {
+    if (isEmpty()) {
+      return false;
+    }
+    Boolean remembered = matches.get(repoKey);
+    if (remembered != null) {
+      return remembered;
+    }
+    boolean match = (substrings != null && substrings.foundIn(repoKey))
+      || (globs != null && globs.matcher(repoKey).find())
+      || matchesRegex(repoKey);
+    if (matches.size() >= MAX_REMEMBERED_KEYS) {
+      matches.clear();
+    }
+    matches.put(repoKey, match);
+    return match;
+  }
+
+  private boolean matchesRegex(String repoKey) {
+    for (Pattern regex : regexes) {
+      if (regex.matcher(repoKey).find()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String globToRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    StringBuilder literal = new StringBuilder();
+    for (char c : glob.toCharArray()) {
+      if (c == '*' || c == '?') {
+        if (literal.length() > 0) {
+          regex.append(Pattern.quote(literal.toString()));
+          literal.setLength(0);
+        }
+        regex.append(c == '*' ? ".*" : ".");
+      } else {
+        literal.append(c);
+      }
+    }
+    if (literal.length() > 0) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+    return regex.toString();
+  }
+
+  @Override
+  public String toString() {
+    return "RepoKeyAllowlist" + patterns;
+  }
+
+  /**
+   * Aho-Corasick automaton answering whether a text contains any of the substrings, in one pass over the text.
+   */
+  static final class SubstringAutomaton {
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> failure = new ArrayList<>();
+    /** Whether a substring ends at the state, directly or through its failure link. */
+    private final List<Boolean> accepting = new ArrayList<>();
+
+    SubstringAutomaton(List<String> substrings) {
+      addState();
+      for (String substring : substrings) {
+        int state = 0;
+        for (char c : substring.toCharArray()) {
+          Integer next = transitions.get(state).get(c);
+          if (next == null) {
+            next = addState();
+            transitions.get(state).put(c, next);
+          }
+          state = next;
+        }
+        accepting.set(state, true);
+      }
+      linkFailures();
+    }
+
+    boolean foundIn(String text) {
+      if (accepting.get(0)) {
+        return true;
+      }
+      int state = 0;
+      for (int i = 0; i < text.length(); i++) {
+        state = next(state, text.charAt(i));
+        if (accepting.get(state)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private int next(int state, char c) {
+      while (true) {
+        Integer next = transitions.get(state).get(c);
+        if (next != null) {
+          return next;
+        }
+        if (state == 0) {
+          return 0;
+        }
+        state = failure.get(state);
+      }
+    }
+
+    private void linkFailures() {
+      Queue<Integer> queue = new ArrayDeque<>();
+      for (int child : transitions.get(0).values()) {
+        failure.set(child, 0);
+        queue.add(child);
+      }
+      while (!queue.isEmpty()) {
+        int state = queue.remove();
+        for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+          int child = edge.getValue();
+          int link = next(failure.get(state), edge.getKey());
+          failure.set(child, link);
+          accepting.set(child, accepting.get(child) || accepting.get(link));
+          queue.add(child);
+        }
+      }
+    }
+
+    private int addState() {
+      transitions.add(new HashMap<>());
+      failure.add(0);
+      accepting.add(false);
+      return transitions.size() - 1;
+    }
+  }
+}
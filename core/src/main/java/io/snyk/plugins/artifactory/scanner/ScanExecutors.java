@@ -0,0 +1,171 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import org.slf4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Executors for background Snyk tests. They run on a fixed pool of platform threads, or, when virtual threads are
+ * enabled and Artifactory runs on Java 21 or later, on a virtual thread per test. Virtual threads are looked up by
+ * reflection, since the plugin is compiled for Java 11.
+ * <p>
+ * Both kinds reject tasks with a {@link RejectedExecutionException} once {@code capacity} tests are waiting, or, on
+ * virtual threads, in flight. On virtual threads, a test waiting for the Snyk API does not hold a platform thread, so
+ * how many run at a time is only limited by the Snyk client's own concurrency limit.
+ */
+final class ScanExecutors {
+
+  private static final Logger LOG = getLogger(ScanExecutors.class);
+  private static final AtomicBoolean LOGGED_UNSUPPORTED = new AtomicBoolean(false);
+  private static final VirtualThreads VIRTUAL_THREADS = VirtualThreads.lookup();
+
+  private ScanExecutors() {
+  }
+
+  static ExecutorService create(String name, int threads, int capacity, boolean virtualThreads) {
+    if (virtualThreads) {
+      if (VIRTUAL_THREADS != null) {
+        LOG.info("Running {} Snyk tests on virtual threads, at most {} at a time", name, capacity);
+        return new BoundedExecutor(VIRTUAL_THREADS.newThreadPerTaskExecutor(name), capacity);
+      }
+      if (LOGGED_UNSUPPORTED.compareAndSet(false, true)) {
+        LOG.warn("Virtual threads need Java 21 or later, running Snyk tests on platform threads on Java {}", Runtime.version().feature());
+      }
+    }
+    return new ThreadPoolExecutor(
+      threads,
+      threads,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(capacity),
+      daemonThreads(name),
+      new ThreadPoolExecutor.AbortPolicy()
+    );
+  }
+
+  static boolean virtualThreadsSupported() {
+    return VIRTUAL_THREADS != null;
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * {@code Thread.ofVirtual().name(prefix, 1).factory()} and {@code Executors.newThreadPerTaskExecutor(factory)}.
+   */
+  private static final class VirtualThreads {
+    private final Method ofVirtual;
+    private final Method name;
+    private final Method factory;
+    private final Method newThreadPerTaskExecutor;
+
+    private VirtualThreads(Method ofVirtual, Method name, Method factory, Method newThreadPerTaskExecutor) {
+      this.ofVirtual = ofVirtual;
+      this.name = name;
+      this.factory = factory;
+      this.newThreadPerTaskExecutor = newThreadPerTaskExecutor;
+    }
+
+    static VirtualThreads lookup() {
+      try {
+        Class<?> builder = Class.forName("java.lang.Thread$Builder");
+        return new VirtualThreads(
+          Thread.class.getMethod("ofVirtual"),
+          builder.getMethod("name", String.class, long.class),
+          builder.getMethod("factory"),
+          Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+        );
+      } catch (ReflectiveOperationException e) {
+        return null;
+      }
+    }
+
+    ExecutorService newThreadPerTaskExecutor(String prefix) {
+      try {
+        Object builder = name.invoke(ofVirtual.invoke(null), prefix + "-", 1L);
+        return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory.invoke(builder));
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Could not create virtual threads", e);
+      }
+    }
+  }
+
+  /**
+   * Rejects tasks while {@code capacity} submitted tasks have not completed yet.
+   */
+  static final class BoundedExecutor extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final int capacity;
+    private final Semaphore permits;
+
+    BoundedExecutor(ExecutorService delegate, int capacity) {
+      this.delegate = delegate;
+      this.capacity = capacity;
+      this.permits = new Semaphore(capacity);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      if (!permits.tryAcquire()) {
+        throw new RejectedExecutionException("Already running " + capacity + " tasks");
+      }
+      try {
+        delegate.execute(() -> {
+          try {
+            command.run();
+          } finally {
+            permits.release();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        throw e;
+      }
+    }
+
+    @Override
+    public void shutdown() {
+      delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return delegate.awaitTermination(timeout, unit);
+    }
+  }
+}
@@ -1,58 +1,116 @@
 package io.snyk.plugins.artifactory.scanner;
 
+import io.snyk.plugins.artifactory.cache.AppendOnlyStore;
 import io.snyk.plugins.artifactory.configuration.ConfigurationModule;
 import io.snyk.plugins.artifactory.configuration.PluginConfiguration;
+import io.snyk.plugins.artifactory.configuration.PluginSettings;
 import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperties;
 import io.snyk.plugins.artifactory.configuration.properties.BlockReasonProperty;
 import io.snyk.plugins.artifactory.configuration.properties.RepositoryArtifactProperties;
 import io.snyk.plugins.artifactory.ecosystem.EcosystemResolver;
+import io.snyk.plugins.artifactory.ecosystem.RepositoryMetadataCache;
 import io.snyk.plugins.artifactory.ecosystem.RepositoryMetadataEcosystemResolver;
 import io.snyk.plugins.artifactory.model.Ignores;
 import io.snyk.plugins.artifactory.model.MonitoredArtifact;
 import io.snyk.plugins.artifactory.model.TestResult;
-import io.snyk.plugins.artifactory.model.ValidationSettings;
 import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.fs.ItemInfo;
 import org.artifactory.exception.CancelException;
 import org.artifactory.repo.RepoPath;
 import org.artifactory.repo.Repositories;
-import org.artifactory.repo.RepositoryConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty.BLOCK_REASON;
+import static io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty.ISSUE_LICENSES;
+import static io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty.ISSUE_URL;
+import static io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty.ISSUE_VULNERABILITIES;
+import static io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty.TEST_TIMESTAMP;
 import static java.util.Objects.requireNonNull;
 
 public class ScannerModule {
   private static final Logger LOG = LoggerFactory.getLogger(ScannerModule.class);
+  private static final String SNYK_PROPERTY_PREFIX = "snyk.";
+  private static final String PERSISTENT_CACHE_DIRECTORY = "snyk-cache";
+  private static final int REVALIDATION_QUEUE_SIZE = 1000;
+  private static final Set<String> TEST_RESULT_PROPERTIES = Set.of(
+    TEST_TIMESTAMP.propertyKey(),
+    ISSUE_VULNERABILITIES.propertyKey(),
+    ISSUE_LICENSES.propertyKey(),
+    ISSUE_URL.propertyKey()
+  );
   private static final AtomicBoolean LOGGED_DEPRECATED_REMOTE_ONLY = new AtomicBoolean(false);
   private static final AtomicBoolean LOGGED_REMOTE_ONLY_IGNORED_WITH_ALLOWLIST = new AtomicBoolean(false);
   private final ConfigurationModule configurationModule;
+  private final PluginSettings settings;
+  private final PackageValidator packageValidator;
   private final Repositories repositories;
+  private final RepositoryMetadataCache repositoryMetadata;
   private final EcosystemResolver ecosystemResolver;
   private final ScannerResolver scannerResolver;
-  private final ArtifactResolver artifactResolver;
+  private final MemoryCachedArtifactResolver artifactResolver;
+  private final PackageResultStore packageResults;
+  private final PersistentArtifactResolver persistentResults;
+  private final RefreshAheadScheduler refreshAhead;
+  private final ExecutorService revalidationExecutor;
+  private final SingleFlight<String, Optional<MonitoredArtifact>> inFlightTests = new SingleFlight<>();
+  private final SingleFlight<String, Optional<MonitoredArtifact>> inFlightResolutions = new SingleFlight<>();
 
   public ScannerModule(ConfigurationModule configurationModule, @Nonnull Repositories repositories, ScannerResolver scannerResolver) {
+    this(configurationModule, repositories, scannerResolver, null);
+  }
+
+  public ScannerModule(ConfigurationModule configurationModule, @Nonnull Repositories repositories, ScannerResolver scannerResolver, File pluginsDirectory) {
+    this(configurationModule, PluginSettings.from(configurationModule), repositories, scannerResolver, pluginsDirectory);
+  }
+
+  public ScannerModule(ConfigurationModule configurationModule, PluginSettings settings, @Nonnull Repositories repositories, ScannerResolver scannerResolver, File pluginsDirectory) {
     this.configurationModule = requireNonNull(configurationModule);
+    this.settings = requireNonNull(settings);
+    this.packageValidator = new PackageValidator(settings.getValidationSettings());
     this.repositories = requireNonNull(repositories);
 
-    ecosystemResolver = new RepositoryMetadataEcosystemResolver(repositories);
+    repositoryMetadata = new RepositoryMetadataCache(
+      repositories,
+      Duration.ofSeconds(Long.parseLong(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_REPOSITORY_CACHE_TTL_SECONDS)))
+    );
+    ecosystemResolver = new RepositoryMetadataEcosystemResolver(repositoryMetadata);
 
     this.scannerResolver = scannerResolver;
 
-    artifactResolver = shouldTestContinuously() ? new ArtifactCache(
+    revalidationExecutor = shouldTestContinuously() && configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_STALE_WHILE_REVALIDATE).equals("true")
+      ? revalidationExecutor(Integer.parseInt(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_STALE_WHILE_REVALIDATE_THREADS)))
+      : null;
+    ArtifactResolver propertyResolver = shouldTestContinuously() ? new ArtifactCache(
       durationHoursProperty(PluginConfiguration.TEST_FREQUENCY_HOURS, configurationModule),
-      durationHoursProperty(PluginConfiguration.EXTEND_TEST_DEADLINE_HOURS, configurationModule)
+      durationHoursProperty(PluginConfiguration.EXTEND_TEST_DEADLINE_HOURS, configurationModule),
+      revalidationExecutor
     ) : new ReadOnlyArtifactResolver();
+    persistentResults = openPersistentResults(propertyResolver, pluginsDirectory);
+    artifactResolver = new MemoryCachedArtifactResolver(
+      persistentResults != null ? persistentResults : propertyResolver,
+      Integer.parseInt(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_MEMORY_CACHE_MAX_ENTRIES)),
+      Duration.ofSeconds(Long.parseLong(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_MEMORY_CACHE_TTL_SECONDS)))
+    );
+    packageResults = new PackageResultStore(
+      Integer.parseInt(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_PACKAGE_CACHE_MAX_ENTRIES)),
+      packageResultTtl()
+    );
+    refreshAhead = startRefreshAhead();
   }
 
   public Optional<MonitoredArtifact> testArtifact(@Nonnull RepoPath repoPath) {
@@ -60,7 +118,59 @@ public class ScannerModule {
       LOG.debug("No ecosystem matching for {}, skipping.", repoPath);
       return Optional.empty();
     }
-    return runTest(repoPath).map(artifact -> artifact.write(properties(repoPath)));
+    ArtifactProperties properties = properties(repoPath);
+    return inFlightTests.run(repoPath.toString(), () ->
+      runTest(repoPath, properties).map(artifact -> {
+        artifact.write(properties);
+        if (persistentResults != null) {
+          persistentResults.put(artifact.getPath(), artifact.getTestResult());
+        }
+        return artifact;
+      })
+    );
+  }
+
+  /**
+   * Drops the in-memory result of an artifact when one of its Snyk properties changes,
+   * e.g. when a user sets {@link io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty#ISSUE_VULNERABILITIES_FORCE_DOWNLOAD}.
+   */
+  public void handlePropertyChange(@Nonnull RepoPath repoPath, String propertyName) {
+    if (propertyName == null || !propertyName.startsWith(SNYK_PROPERTY_PREFIX) || BLOCK_REASON.propertyKey().equals(propertyName)) {
+      return;
+    }
+    LOG.debug("Snyk property {} changed, dropping in-memory result for {}", propertyName, repoPath);
+    artifactResolver.invalidate(repoPath.toString());
+  }
+
+  /**
+   * Like {@link #handlePropertyChange(RepoPath, String)}, and additionally drops the stored result of an artifact
+   * when one of its test result properties is removed, so that the next download resolves it from the properties again.
+   * Creations are not considered here, since the plugin itself writes these properties after every test.
+   */
+  public void handlePropertyDelete(@Nonnull RepoPath repoPath, String propertyName) {
+    handlePropertyChange(repoPath, propertyName);
+    if (persistentResults != null && TEST_RESULT_PROPERTIES.contains(propertyName)) {
+      LOG.debug("Snyk property {} removed, dropping stored result for {}", propertyName, repoPath);
+      persistentResults.invalidate(repoPath.toString());
+    }
+  }
+
+  public void close() {
+    if (refreshAhead != null) {
+      refreshAhead.close();
+    }
+    if (revalidationExecutor != null) {
+      revalidationExecutor.shutdownNow();
+    }
+    scannerResolver.close();
+    if (persistentResults == null) {
+      return;
+    }
+    try {
+      persistentResults.close();
+    } catch (IOException e) {
+      LOG.warn("Could not close Snyk result store: {}", e.getMessage());
+    }
   }
 
   public void filterAccess(@Nonnull RepoPath repoPath) {
@@ -69,48 +179,157 @@ public class ScannerModule {
       return;
     }
 
-    resolveArtifact(repoPath)
+    ArtifactProperties properties = properties(repoPath);
+    resolveArtifact(repoPath, properties)
       .ifPresentOrElse(
-        artifact -> filter(repoPath, artifact),
+        artifact -> {
+          if (refreshAhead != null) {
+            refreshAhead.recordDownload(repoPath, artifact.getTestResult().getTimestamp());
+          }
+          filter(repoPath, properties, artifact);
+        },
         () -> LOG.info("No vulnerability info found for {}", repoPath)
       );
   }
 
-  private Optional<MonitoredArtifact> resolveArtifact(RepoPath repoPath) {
-    Optional<MonitoredArtifact> monitoredArtifact = artifactResolver.get(properties(repoPath), () -> runTest(repoPath));
+  /**
+   * Re-tests an artifact outside of a download and returns the timestamp of the new result.
+   */
+  private Optional<ZonedDateTime> refresh(RepoPath repoPath) {
+    Optional<MonitoredArtifact> artifact = testArtifact(repoPath);
+    artifactResolver.invalidate(repoPath.toString());
+    return artifact.map(a -> a.getTestResult().getTimestamp());
+  }
+
+  /**
+   * Concurrent downloads of the same artifact share a single resolution, so a cache stampede results in one
+   * Snyk test and one set of property writes instead of one per waiting request.
+   * The test reads its own snapshot of the properties, since it may run in the background while the download
+   * goes on using {@code properties}.
+   */
+  private Optional<MonitoredArtifact> resolveArtifact(RepoPath repoPath, ArtifactProperties properties) {
+    Optional<MonitoredArtifact> monitoredArtifact = inFlightResolutions.run(repoPath.toString(), () ->
+      artifactResolver.get(properties, () -> runTest(repoPath, properties(repoPath)))
+    );
     Instant lastModifiedDate = getLastModifiedDate(repoPath);
-    monitoredArtifact.ifPresent(artifact -> artifact.setLastModifiedDate(lastModifiedDate));
-    return monitoredArtifact;
+    return monitoredArtifact.map(artifact -> artifact.withLastModifiedDate(lastModifiedDate));
   }
 
+  /**
+   * One snapshot per download or test, so that reading the result, the ignores and the block reason of an
+   * artifact takes a single property lookup.
+   */
   private ArtifactProperties properties(RepoPath repoPath) {
-    return new RepositoryArtifactProperties(repoPath, repositories);
+    return RepositoryArtifactProperties.snapshot(repoPath, repositories);
   }
 
-  private @NotNull Optional<MonitoredArtifact> runTest(RepoPath repoPath) {
+  private @NotNull Optional<MonitoredArtifact> runTest(RepoPath repoPath, ArtifactProperties properties) {
     return ecosystemResolver.getFor(repoPath)
       .flatMap(scannerResolver::getFor)
-      .map(scanner -> runTestWith(scanner, repoPath));
+      .map(scanner -> runTestWith(scanner, repoPath, properties));
   }
 
-  private MonitoredArtifact runTestWith(PackageScanner scanner, RepoPath repoPath) {
+  /**
+   * In continuous mode the previous result of the artifact makes the re-test conditional, and a result that did not
+   * change is written as {@link TestResult#asUnchanged()}, updating only its timestamp.
+   */
+  private MonitoredArtifact runTestWith(PackageScanner scanner, RepoPath repoPath, ArtifactProperties properties) {
     FileLayoutInfo fileLayoutInfo = repositories.getLayoutInfo(repoPath);
-    TestResult testResult = scanner.scan(fileLayoutInfo, repoPath);
-    return toMonitoredArtifact(testResult, repoPath);
+    Optional<TestResult> previous = previousResult(repoPath, properties);
+    TestResult testResult = scanner.purl(fileLayoutInfo, repoPath)
+      .map(purl -> packageResults.get(purl, () -> scanner.retest(fileLayoutInfo, repoPath, previous)))
+      .orElseGet(() -> scanner.retest(fileLayoutInfo, repoPath, previous));
+    if (previous.filter(testResult::isUnchangedFrom).isPresent()) {
+      testResult = testResult.asUnchanged();
+    }
+    return toMonitoredArtifact(testResult, repoPath, properties);
   }
 
-  private void filter(RepoPath repoPath, MonitoredArtifact artifact) {
-    ArtifactProperties props = properties(repoPath);
+  private Optional<TestResult> previousResult(RepoPath repoPath, ArtifactProperties properties) {
+    if (!shouldTestContinuously()) {
+      return Optional.empty();
+    }
+    try {
+      return TestResult.read(properties);
+    } catch (RuntimeException e) {
+      LOG.debug("Could not read previous Snyk Test result of {}: {}", repoPath, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Background tests beyond what the pool and its queue can take are skipped; the stale result keeps being
+   * served and the artifact is revalidated on a later download.
+   */
+  private ExecutorService revalidationExecutor(int threads) {
+    boolean virtualThreads = configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_VIRTUAL_THREADS).equals("true");
+    return ScanExecutors.create("snyk-revalidate", threads, REVALIDATION_QUEUE_SIZE, virtualThreads);
+  }
+
+  private RefreshAheadScheduler startRefreshAhead() {
+    if (!shouldTestContinuously() || !configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_REFRESH_AHEAD_ENABLED).equals("true")) {
+      return null;
+    }
+    Duration testFrequency = durationHoursProperty(PluginConfiguration.TEST_FREQUENCY_HOURS, configurationModule);
+    if (testFrequency.isZero()) {
+      return null;
+    }
+    RefreshAheadScheduler scheduler = new RefreshAheadScheduler(
+      testFrequency,
+      durationHoursProperty(PluginConfiguration.SCANNER_REFRESH_AHEAD_HOURS, configurationModule),
+      Integer.parseInt(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_REFRESH_AHEAD_MAX_PER_INTERVAL)),
+      Integer.parseInt(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_REFRESH_AHEAD_MAX_TRACKED)),
+      Clock.systemUTC(),
+      this::refresh
+    );
+    scheduler.start(Duration.ofSeconds(Long.parseLong(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_REFRESH_AHEAD_INTERVAL_SECONDS))));
+    return scheduler;
+  }
+
+  /**
+   * In continuous mode stored results are only used until their next test is due. Otherwise results never expire,
+   * matching how results stored in the artifact properties are used.
+   */
+  private PersistentArtifactResolver openPersistentResults(ArtifactResolver propertyResolver, File pluginsDirectory) {
+    if (pluginsDirectory == null || !configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_PERSISTENT_CACHE_ENABLED).equals("true")) {
+      return null;
+    }
+    Duration maxAge = shouldTestContinuously()
+      ? durationHoursProperty(PluginConfiguration.TEST_FREQUENCY_HOURS, configurationModule)
+      : ChronoUnit.FOREVER.getDuration();
+    File directory = new File(pluginsDirectory, PERSISTENT_CACHE_DIRECTORY);
+    try {
+      AppendOnlyStore store = AppendOnlyStore.open(directory.toPath());
+      LOG.info("Using stored Snyk Test results from {} ({} artifacts)", directory, store.size());
+      return new PersistentArtifactResolver(propertyResolver, store, maxAge);
+    } catch (IOException e) {
+      LOG.warn("Could not open Snyk result store in {}, continuing without it: {}", directory, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * A shared result must never outlive the test frequency, otherwise an artifact seen for the first time
+   * could be handed a result that is already due for a re-test.
+   */
+  private Duration packageResultTtl() {
+    Duration ttl = Duration.ofSeconds(Long.parseLong(configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_PACKAGE_CACHE_TTL_SECONDS)));
+    if (!shouldTestContinuously()) {
+      return ttl;
+    }
+    Duration testFrequency = durationHoursProperty(PluginConfiguration.TEST_FREQUENCY_HOURS, configurationModule);
+    return ttl.compareTo(testFrequency) > 0 ? testFrequency : ttl;
+  }
+
+  private void filter(RepoPath repoPath, ArtifactProperties props, MonitoredArtifact artifact) {
     try {
       props.remove(BLOCK_REASON);
     } catch (Exception e) {
       LOG.debug("Could not clear block reason for {}: {}", repoPath, e.getMessage());
     }
 
-    ValidationSettings validationSettings = ValidationSettings.from(configurationModule);
-    PackageValidator validator = new PackageValidator(validationSettings);
     try {
-      validator.validate(artifact);
+      packageValidator.validate(artifact);
     } catch (CancelException e) {
       try {
         props.set(BLOCK_REASON, BlockReasonProperty.truncateForStorage(e.getMessage()));
@@ -121,8 +340,8 @@ public class ScannerModule {
     }
   }
 
-  private @NotNull MonitoredArtifact toMonitoredArtifact(TestResult testResult, @NotNull RepoPath repoPath) {
-    Ignores ignores = Ignores.read(new RepositoryArtifactProperties(repoPath, repositories));
+  private @NotNull MonitoredArtifact toMonitoredArtifact(TestResult testResult, @NotNull RepoPath repoPath, ArtifactProperties properties) {
+    Ignores ignores = Ignores.read(properties);
     Instant lastModifiedDate = getLastModifiedDate(repoPath);
     
     return new MonitoredArtifact(repoPath.toString(), testResult, ignores, lastModifiedDate);
@@ -149,13 +368,12 @@ public class ScannerModule {
   }
 
   /**
-   * When {@link PluginConfiguration#SCANNER_LAST_MODIFIED_ALLOWLIST} is non-empty, repository keys containing any
-   * configured substring skip the last-modified delay check. When the allowlist is empty and legacy
+   * When {@link PluginConfiguration#SCANNER_LAST_MODIFIED_ALLOWLIST} is non-empty, repository keys matching any
+   * configured pattern skip the last-modified delay check. When the allowlist is empty and legacy
    * {@link PluginConfiguration#SCANNER_LAST_MODIFIED_CHECK_ONLY_REMOTE} is true, only remote repositories keep the check.
    */
   private boolean shouldSkipLastModifiedForRepository(RepoPath repoPath) {
-    String allowlistRaw = configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_LAST_MODIFIED_ALLOWLIST);
-    List<String> allowlist = LastModifiedRepositoryPolicy.parseAllowlist(allowlistRaw);
+    RepoKeyAllowlist allowlist = settings.getLastModifiedAllowlist();
     String repoKey = repoPath.getRepoKey();
 
     if (!allowlist.isEmpty()) {
@@ -164,7 +382,7 @@ public class ScannerModule {
           "snyk.scanner.lastModified.remoteOnly is set but ignored because snyk.scanner.lastModified.allowlist is configured; remove remoteOnly."
         );
       }
-      if (LastModifiedRepositoryPolicy.repoKeyMatchesAllowlist(repoKey, allowlist)) {
+      if (allowlist.matches(repoKey)) {
         LOG.debug("Repository key matches last-modified allowlist, skipping last modified date for {}", repoPath);
         return true;
       }
@@ -188,22 +406,19 @@ public class ScannerModule {
 
   /** Used only when {@link PluginConfiguration#SCANNER_LAST_MODIFIED_CHECK_ONLY_REMOTE} is true and the allowlist is empty. */
   private boolean isRemoteRepository(RepoPath repoPath) {
-    String repoKey = repoPath.getRepoKey();
-    RepositoryConfiguration repoConfig = repositories.getRepositoryConfiguration(repoKey);
-    String repoType = repoConfig.getType();
+    Optional<RepositoryMetadataCache.RepositoryMetadata> metadata = repositoryMetadata.get(repoPath.getRepoKey());
 
-    LOG.debug("Found repository type: {}", repoType);
+    LOG.debug("Found repository metadata: {}", metadata);
 
-    return repoType.toLowerCase().equals("remote");
+    return metadata.map(RepositoryMetadataCache.RepositoryMetadata::isRemote).orElse(false);
   }
 
   private boolean shouldTestContinuously() {
-    return configurationModule.getPropertyOrDefault(PluginConfiguration.TEST_CONTINUOUSLY).equals("true");
+    return settings.shouldTestContinuously();
   }
 
-  @SuppressWarnings("deprecation")
   private boolean lastModifiedDateRemoteOnly() {
-    return configurationModule.getPropertyOrDefault(PluginConfiguration.SCANNER_LAST_MODIFIED_CHECK_ONLY_REMOTE).equals("true");
+    return settings.isLastModifiedRemoteOnly();
   }
 
   private Duration durationHoursProperty(PluginConfiguration property, ConfigurationModule configurationModule) {
@@ -9,6 +9,7 @@ import io.snyk.plugins.artifactory.scanner.maven.MavenScanner;
 import io.snyk.plugins.artifactory.scanner.npm.NpmPurlScanner;
 import io.snyk.plugins.artifactory.scanner.npm.NpmScanner;
 import io.snyk.plugins.artifactory.scanner.nuget.NugetScanner;
+import io.snyk.plugins.artifactory.scanner.purl.BatchingPurlScanner;
 import io.snyk.plugins.artifactory.scanner.purl.PurlScanner;
 import io.snyk.plugins.artifactory.scanner.python.PythonPurlScanner;
 import io.snyk.plugins.artifactory.scanner.python.PythonScanner;
@@ -17,21 +18,31 @@ import io.snyk.sdk.api.SnykClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
 import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.API_ORGANIZATION;
 import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.API_REST_ENABLED;
+import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.SCANNER_BATCH_ENABLED;
+import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.SCANNER_BATCH_MAX_SIZE;
+import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.SCANNER_BATCH_WINDOW_MILLIS;
 
 public class ScannerResolver {
   private static final Logger LOG = LoggerFactory.getLogger(ScannerResolver.class);
-  private final Function<PluginConfiguration, String> getConfig;
-  private final Map<Ecosystem, PackageScanner> scannerByEcosystem = new HashMap<>();
+  /** Enablement config value by ecosystem, read once. */
+  private final Map<Ecosystem, String> enablement = new EnumMap<>(Ecosystem.class);
+  private final Map<Ecosystem, PackageScanner> scannerByEcosystem = new EnumMap<>(Ecosystem.class);
+  private final List<AutoCloseable> resources = new ArrayList<>();
 
   public ScannerResolver(Function<PluginConfiguration, String> getConfig) {
-    this.getConfig = getConfig;
+    for (Ecosystem ecosystem : Ecosystem.values()) {
+      enablement.put(ecosystem, getConfig.apply(ecosystem.getConfigProperty()));
+    }
   }
 
   public ScannerResolver register(Ecosystem ecosystem, PackageScanner scanner) {
@@ -39,9 +50,17 @@ public class ScannerResolver {
     return this;
   }
 
+  /**
+   * Registers a resource shared by the scanners, to be released by {@link #close()}.
+   */
+  public ScannerResolver closeWith(AutoCloseable resource) {
+    resources.add(resource);
+    return this;
+  }
+
   public Optional<PackageScanner> getFor(Ecosystem ecosystem) {
     PluginConfiguration configKey = ecosystem.getConfigProperty();
-    String configValue = getConfig.apply(configKey);
+    String configValue = enablement.get(ecosystem);
     if (!"true".equals(configValue)) {
       LOG.info("Snyk scanner disabled for {}. Config: {} = {}", ecosystem.name(), configKey.propertyKey(), configValue);
       return Optional.empty();
@@ -58,8 +77,20 @@ public class ScannerResolver {
 
   public static ScannerResolver setup(ConfigurationModule configurationModule, SnykClient snykClient) {
     String orgId = configurationModule.getProperty(API_ORGANIZATION);
-    PurlScanner purlScanner = new PurlScanner(snykClient, orgId);
     var scannerResolver = new ScannerResolver(configurationModule::getPropertyOrDefault);
+    PurlScanner purlScanner;
+    if (Boolean.parseBoolean(configurationModule.getPropertyOrDefault(SCANNER_BATCH_ENABLED))) {
+      BatchingPurlScanner batchingPurlScanner = new BatchingPurlScanner(
+        snykClient,
+        orgId,
+        Duration.ofMillis(Long.parseLong(configurationModule.getPropertyOrDefault(SCANNER_BATCH_WINDOW_MILLIS))),
+        Integer.parseInt(configurationModule.getPropertyOrDefault(SCANNER_BATCH_MAX_SIZE))
+      );
+      scannerResolver.closeWith(batchingPurlScanner);
+      purlScanner = batchingPurlScanner;
+    } else {
+      purlScanner = new PurlScanner(snykClient, orgId);
+    }
 
     if (Boolean.parseBoolean(configurationModule.getPropertyOrDefault(API_REST_ENABLED))) {
       scannerResolver
@@ -79,4 +110,15 @@ public class ScannerResolver {
       ;
     return scannerResolver;
   }
+
+  public void close() {
+    for (AutoCloseable resource : resources) {
+      try {
+        resource.close();
+      } catch (Exception e) {
+        LOG.warn("Could not release scanner resource {}: {}", resource, e.getMessage());
+      }
+    }
+    resources.clear();
+  }
 }
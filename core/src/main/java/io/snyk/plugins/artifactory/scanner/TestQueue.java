@@ -0,0 +1,116 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import org.artifactory.repo.RepoPath;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Runs Snyk tests on a bounded queue drained by a fixed pool of workers, so that the thread that submits
+ * an artifact does not wait for the Snyk API.
+ * <p>
+ * An artifact that is already waiting in the queue is not queued a second time. When the queue is full,
+ * the {@link OverflowPolicy} decides whether the test is dropped or run on the submitting thread.
+ * <p>
+ * With virtual threads, each test starts on its own virtual thread right away, and {@code capacity} bounds
+ * the tests in flight instead of those waiting for a worker.
+ */
+public class TestQueue {
+
+  private static final Logger LOG = getLogger(TestQueue.class);
+
+  public enum OverflowPolicy {
+    /** Skip the test. The artifact is tested on a later download when testing continuously. */
+    DROP,
+    /** Run the test on the submitting thread, slowing producers down to the pace of the workers. */
+    INLINE;
+
+    public static OverflowPolicy parse(String value) {
+      return OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+  }
+
+  private final String name;
+  private final OverflowPolicy overflowPolicy;
+  private final Consumer<RepoPath> test;
+  private final ExecutorService executor;
+  private final Set<String> queued = ConcurrentHashMap.newKeySet();
+  private final AtomicLong dropped = new AtomicLong();
+
+  public TestQueue(String name, int workers, int capacity, OverflowPolicy overflowPolicy, Consumer<RepoPath> test) {
+    this(name, workers, capacity, overflowPolicy, false, test);
+  }
+
+  public TestQueue(String name, int workers, int capacity, OverflowPolicy overflowPolicy, boolean virtualThreads, Consumer<RepoPath> test) {
+    this.name = name;
+    this.overflowPolicy = overflowPolicy;
+    this.test = test;
+    this.executor = ScanExecutors.create(name, workers, capacity, virtualThreads);
+  }
+
+  public void submit(RepoPath repoPath) {
+    String key = repoPath.toString();
+    if (!queued.add(key)) {
+      LOG.debug("Snyk test already queued for {}", repoPath);
+      return;
+    }
+
+    try {
+      executor.execute(() -> {
+        queued.remove(key);
+        try {
+          test.accept(repoPath);
+        } catch (RuntimeException e) {
+          LOG.error("Background Snyk test of {} failed: {}", repoPath, e.getMessage(), e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      queued.remove(key);
+      if (overflowPolicy == OverflowPolicy.INLINE && !executor.isShutdown()) {
+        LOG.debug("Snyk test queue {} is full, testing {} inline", name, repoPath);
+        test.accept(repoPath);
+        return;
+      }
+      long total = dropped.incrementAndGet();
+      LOG.warn("Snyk test queue {} is full, skipping test of {} ({} skipped so far)", name, repoPath, total);
+    }
+  }
+
+  /**
+   * @return the number of tests waiting to start
+   */
+  public int size() {
+    return queued.size();
+  }
+
+  public long droppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Stops accepting tests and waits up to {@code timeout} for queued tests to finish.
+   * Tests still queued after that are discarded.
+   */
+  public void close(Duration timeout) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        int discarded = executor.shutdownNow().size();
+        LOG.warn("Snyk test queue {} did not drain within {}, discarded {} queued tests", name, timeout, discarded);
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
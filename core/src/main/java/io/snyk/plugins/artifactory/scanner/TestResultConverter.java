@@ -1,27 +1,33 @@
 package io.snyk.plugins.artifactory.scanner;
 
+import io.snyk.plugins.artifactory.exception.SnykAPIFailureException;
 import io.snyk.plugins.artifactory.model.IssueSummary;
 import io.snyk.plugins.artifactory.model.TestResult;
-import io.snyk.sdk.model.purl.PurlIssues;
+import io.snyk.sdk.api.SnykResult;
+import io.snyk.sdk.model.SeverityCounts;
 
 import java.net.URI;
-import java.util.stream.Stream;
+import java.util.Optional;
 
 public class TestResultConverter {
 
-  public static TestResult convert(io.snyk.sdk.model.TestResult result) {
+  public static TestResult convert(SeverityCounts counts, String packageDetailsUrl) {
     return new TestResult(
-      IssueSummary.from(result.issues.vulnerabilities),
-      IssueSummary.from(result.issues.licenses),
-      URI.create(result.packageDetailsURL)
+      IssueSummary.from(counts.getVulnerabilities()),
+      IssueSummary.from(counts.getLicenses()),
+      URI.create(packageDetailsUrl)
     );
   }
 
-  public static TestResult convert(PurlIssues issues) {
-    return new TestResult(
-      IssueSummary.fromPurlIssues(issues.purlIssues),
-      IssueSummary.from(Stream.empty()),
-      URI.create(issues.packageDetailsUrl)
-    );
+  /**
+   * Converts the response to a request made conditional on the {@code previous} result, which is returned as
+   * {@link TestResult#revalidated()} when Snyk API reports it unchanged.
+   */
+  public static TestResult convert(SnykResult<SeverityCounts> result, String packageDetailsUrl, Optional<TestResult> previous) {
+    if (result.isNotModified() && previous.isPresent()) {
+      return previous.get().revalidated();
+    }
+    SeverityCounts counts = result.get().orElseThrow(() -> new SnykAPIFailureException(result));
+    return convert(counts, packageDetailsUrl).withValidator(result.getValidator());
   }
 }
@@ -32,14 +32,23 @@ public class CocoapodsPackage {
       return Optional.empty();
     }
 
-    String[] nameVersion = artifactoryPackageName.replace(".tar.gz", "")
-        .split("(?s)-[a-zA-Z]*(?!.*?-)");
+    // The version follows the last hyphen, without a letter prefix like "v": libwebp-v1.3.0.tar.gz
+    String path = artifactoryPackageName.replace(".tar.gz", "");
+    int hyphen = path.lastIndexOf('-');
+    int versionStart = hyphen + 1;
+    while (versionStart < path.length() && isAsciiLetter(path.charAt(versionStart))) {
+      versionStart++;
+    }
 
-    if (nameVersion.length != 2) {
+    if (hyphen < 0 || versionStart == path.length()) {
       LOG.warn("Unexpected Cocoapods package name: {}", artifactoryPackageName);
       return Optional.empty();
     }
 
-    return Optional.of(new CocoapodsPackage(nameVersion[0], nameVersion[1]));
+    return Optional.of(new CocoapodsPackage(path.substring(0, hyphen), path.substring(versionStart)));
+  }
+
+  private static boolean isAsciiLetter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
   }
 }
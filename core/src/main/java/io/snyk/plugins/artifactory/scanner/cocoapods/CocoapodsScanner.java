@@ -9,6 +9,9 @@ import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 import org.slf4j.Logger;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import static org.slf4j.LoggerFactory.getLogger;
 
 public class CocoapodsScanner implements PackageScanner {
@@ -22,16 +25,36 @@ public class CocoapodsScanner implements PackageScanner {
 
   @Override
   public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
-    LOG.debug("Cocoapods: repoPath.getName() {}", repoPath.getName());
+    CocoapodsPackage pckg = parse(repoPath);
+    return purlScanner.scan(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()));
+  }
 
-    CocoapodsPackage pckg = CocoapodsPackage.parse(repoPath.getName())
-      .orElseThrow(() -> new CannotScanException("Unexpected Cocoapods package name" + repoPath.getName()));
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    CocoapodsPackage pckg = parse(repoPath);
+    return purlScanner.retest(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()), previous);
+  }
 
-    String purl = "pkg:cocoapods/" + pckg.getName() + "@" + pckg.getVersion();
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    CocoapodsPackage pckg = parse(repoPath);
+    return purlScanner.scanAsync(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()));
+  }
 
-    String packageDetailsUrl = getModuleDetailsURL(pckg.getName(), pckg.getVersion());
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return Optional.of(purlOf(parse(repoPath)));
+  }
+
+  private static CocoapodsPackage parse(RepoPath repoPath) {
+    LOG.debug("Cocoapods: repoPath.getName() {}", repoPath.getName());
+
+    return CocoapodsPackage.parse(repoPath.getName())
+      .orElseThrow(() -> new CannotScanException("Unexpected Cocoapods package name" + repoPath.getName()));
+  }
 
-    return purlScanner.scan(purl, packageDetailsUrl);
+  private static String purlOf(CocoapodsPackage pckg) {
+    return "pkg:cocoapods/" + pckg.getName() + "@" + pckg.getVersion();
   }
 
   public static String getModuleDetailsURL(String name, String version) {
@@ -9,6 +9,9 @@ import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 import org.slf4j.Logger;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import static org.slf4j.LoggerFactory.getLogger;
 
 public class MavenPurlScanner implements PackageScanner {
@@ -22,16 +25,40 @@ public class MavenPurlScanner implements PackageScanner {
 
   @Override
   public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    MavenPackage pckg = parse(fileLayoutInfo, repoPath);
+    return purlScanner.scan(purlOf(pckg), packageDetailsUrl(pckg));
+  }
+
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    MavenPackage pckg = parse(fileLayoutInfo, repoPath);
+    return purlScanner.retest(purlOf(pckg), packageDetailsUrl(pckg), previous);
+  }
+
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    MavenPackage pckg = parse(fileLayoutInfo, repoPath);
+    return purlScanner.scanAsync(purlOf(pckg), packageDetailsUrl(pckg));
+  }
+
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return Optional.of(purlOf(parse(fileLayoutInfo, repoPath)));
+  }
+
+  private static MavenPackage parse(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
     LOG.debug("Maven: repoPath.getName() {}", repoPath.getName());
 
-    MavenPackage pckg = MavenPackage.parse(fileLayoutInfo)
+    return MavenPackage.parse(fileLayoutInfo)
       .orElseThrow(() -> new CannotScanException("Maven package details not provided"));
+  }
 
-    String purl = "pkg:maven/" + pckg.getName() + "@" + pckg.getVersion();
-
-    String packageDetailsUrl = getArtifactDetailsURL(pckg.getGroupID(), pckg.getArtifactID(), pckg.getVersion());
+  private static String purlOf(MavenPackage pckg) {
+    return "pkg:maven/" + pckg.getName() + "@" + pckg.getVersion();
+  }
 
-    return purlScanner.scan(purl, packageDetailsUrl);
+  private static String packageDetailsUrl(MavenPackage pckg) {
+    return getArtifactDetailsURL(pckg.getGroupID(), pckg.getArtifactID(), pckg.getVersion());
   }
 
   public static String getArtifactDetailsURL(String groupID, String artifactID, String artifactVersion) {
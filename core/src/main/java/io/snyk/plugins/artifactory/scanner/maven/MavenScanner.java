@@ -3,18 +3,22 @@ package io.snyk.plugins.artifactory.scanner.maven;
 import io.snyk.plugins.artifactory.configuration.ConfigurationModule;
 import io.snyk.plugins.artifactory.exception.CannotScanException;
 import io.snyk.plugins.artifactory.exception.SnykAPIFailureException;
+import io.snyk.plugins.artifactory.model.TestResult;
 import io.snyk.plugins.artifactory.scanner.PackageScanner;
 import io.snyk.plugins.artifactory.scanner.SnykDetailsUrl;
 import io.snyk.plugins.artifactory.scanner.TestResultConverter;
+import io.snyk.sdk.api.IssueDocument;
 import io.snyk.sdk.api.SnykClient;
+import io.snyk.sdk.api.SnykHttpRequestBuilder;
 import io.snyk.sdk.api.SnykResult;
-import io.snyk.sdk.model.TestResult;
+import io.snyk.sdk.model.SeverityCounts;
 import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 import org.slf4j.Logger;
 
 import java.net.URLEncoder;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.API_ORGANIZATION;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -36,33 +40,68 @@ public class MavenScanner implements PackageScanner {
     return SnykDetailsUrl.create("maven", groupID + ":" + artifactID, artifactVersion).toString();
   }
 
-  public io.snyk.plugins.artifactory.model.TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+  public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return retest(fileLayoutInfo, repoPath, Optional.empty());
+  }
+
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    MavenPackage pckg = parse(fileLayoutInfo);
+
+    SnykResult<SeverityCounts> result;
+    try {
+      LOG.debug("Running Snyk test: {}", repoPath);
+      result = snykClient.getSeverityCounts(IssueDocument.TEST_RESULT, request -> testRequest(request, pckg)
+        .withValidator(previous.flatMap(TestResult::getValidator)));
+    } catch (Exception e) {
+      throw new SnykAPIFailureException(e);
+    }
+
+    return toTestResult(result, pckg, previous);
+  }
+
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    MavenPackage pckg = parse(fileLayoutInfo);
+
+    LOG.debug("Running Snyk test asynchronously: {}", repoPath);
+    return snykClient.getSeverityCountsAsync(IssueDocument.TEST_RESULT, request -> testRequest(request, pckg))
+      .handle((result, error) -> {
+        if (error != null) {
+          throw SnykAPIFailureException.from(error);
+        }
+        return toTestResult(result, pckg, Optional.empty());
+      });
+  }
+
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    MavenPackage pckg = parse(fileLayoutInfo);
+    return Optional.of("pkg:maven/" + pckg.getName() + "@" + pckg.getVersion());
+  }
+
+  private static MavenPackage parse(FileLayoutInfo fileLayoutInfo) {
     String groupID = Optional.ofNullable(fileLayoutInfo.getOrganization())
       .orElseThrow(() -> new CannotScanException("Group ID not provided."));
     String artifactID = Optional.ofNullable(fileLayoutInfo.getModule())
       .orElseThrow(() -> new CannotScanException("Artifact ID not provided."));
     String artifactVersion = Optional.ofNullable(fileLayoutInfo.getBaseRevision())
       .orElseThrow(() -> new CannotScanException("Artifact Version not provided."));
+    return new MavenPackage(groupID, artifactID, artifactVersion);
+  }
 
-    SnykResult<io.snyk.sdk.model.TestResult> result;
-    try {
-      LOG.debug("Running Snyk test: {}", repoPath);
-      result = snykClient.get(TestResult.class, request ->
-        request
-          .withPath(String.format("v1/test/maven/%s/%s/%s",
-            URLEncoder.encode(groupID, UTF_8),
-            URLEncoder.encode(artifactID, UTF_8),
-            URLEncoder.encode(artifactVersion, UTF_8)
-          ))
-          .withQueryParam("org", configurationModule.getProperty(API_ORGANIZATION))
-          .withQueryParam("repository", Optional.empty())
-      );
-    } catch (Exception e) {
-      throw new SnykAPIFailureException(e);
-    }
+  private SnykHttpRequestBuilder testRequest(SnykHttpRequestBuilder request, MavenPackage pckg) {
+    return request
+      .withPath(String.format("v1/test/maven/%s/%s/%s",
+        URLEncoder.encode(pckg.getGroupID(), UTF_8),
+        URLEncoder.encode(pckg.getArtifactID(), UTF_8),
+        URLEncoder.encode(pckg.getVersion(), UTF_8)
+      ))
+      .withQueryParam("org", configurationModule.getProperty(API_ORGANIZATION))
+      .withQueryParam("repository", Optional.empty());
+  }
 
-    io.snyk.sdk.model.TestResult testResult = result.get().orElseThrow(() -> new SnykAPIFailureException(result));
-    testResult.packageDetailsURL = getArtifactDetailsURL(groupID, artifactID, artifactVersion);
-    return TestResultConverter.convert(testResult);
+  private static TestResult toTestResult(SnykResult<SeverityCounts> result, MavenPackage pckg, Optional<TestResult> previous) {
+    return TestResultConverter.convert(result, getArtifactDetailsURL(pckg.getGroupID(), pckg.getArtifactID(), pckg.getVersion()), previous);
   }
 }
@@ -10,6 +10,9 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 public class NpmPackage {
   private static final Logger LOG = getLogger(NpmPackage.class);
+  // Matches the full repo path: npm:lodash/-/lodash-4.17.15.tgz
+  // Extracts package name before /-/ and version after last hyphen before .tgz
+  static final Pattern TARBALL_PATH = Pattern.compile("^(?:.+:)?(?<packageName>.+)/-/.+-(?<packageVersion>\\d+\\.\\d+\\.\\d+.*)\\.tgz$");
   private final String name;
   private final String version;
 
@@ -32,10 +35,7 @@ public class NpmPackage {
       return Optional.empty();
     }
 
-    // Pattern matches the full repo path: npm:lodash/-/lodash-4.17.15.tgz
-    // Extracts package name before /-/ and version after last hyphen before .tgz
-    Pattern pattern = Pattern.compile("^(?:.+:)?(?<packageName>.+)/-/.+-(?<packageVersion>\\d+\\.\\d+\\.\\d+.*)\\.tgz$");
-    Matcher matcher = pattern.matcher(repoPath);
+    Matcher matcher = TARBALL_PATH.matcher(repoPath);
     
     if (!matcher.matches()) {
       LOG.warn("Unexpected Npm package path: {}", repoPath);
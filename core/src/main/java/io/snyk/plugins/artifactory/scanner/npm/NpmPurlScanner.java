@@ -9,6 +9,9 @@ import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 import org.slf4j.Logger;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import static org.slf4j.LoggerFactory.getLogger;
 
 public class NpmPurlScanner implements PackageScanner {
@@ -22,16 +25,36 @@ public class NpmPurlScanner implements PackageScanner {
 
   @Override
   public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
-    LOG.debug("Node: repoPath.toString() {}", repoPath.toString());
+    NpmPackage pckg = parse(repoPath);
+    return purlScanner.scan(purlOf(pckg), getPackageDetailsURL(pckg));
+  }
 
-    NpmPackage pckg = NpmPackage.parse(repoPath.toString())
-      .orElseThrow(() -> new CannotScanException("Package details not provided."));
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    NpmPackage pckg = parse(repoPath);
+    return purlScanner.retest(purlOf(pckg), getPackageDetailsURL(pckg), previous);
+  }
 
-    String purl = "pkg:npm/" + pckg.getName() + "@" + pckg.getVersion();
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    NpmPackage pckg = parse(repoPath);
+    return purlScanner.scanAsync(purlOf(pckg), getPackageDetailsURL(pckg));
+  }
 
-    String packageDetailsUrl = getPackageDetailsURL(pckg);
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return Optional.of(purlOf(parse(repoPath)));
+  }
+
+  private static NpmPackage parse(RepoPath repoPath) {
+    LOG.debug("Node: repoPath.toString() {}", repoPath.toString());
+
+    return NpmPackage.parse(repoPath.toString())
+      .orElseThrow(() -> new CannotScanException("Package details not provided."));
+  }
 
-    return purlScanner.scan(purl, packageDetailsUrl);
+  private static String purlOf(NpmPackage pckg) {
+    return "pkg:npm/" + pckg.getName() + "@" + pckg.getVersion();
   }
 
   public static String getPackageDetailsURL(NpmPackage pckg) {
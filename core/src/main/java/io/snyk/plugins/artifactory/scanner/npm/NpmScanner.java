@@ -3,20 +3,23 @@ package io.snyk.plugins.artifactory.scanner.npm;
 import io.snyk.plugins.artifactory.configuration.ConfigurationModule;
 import io.snyk.plugins.artifactory.exception.CannotScanException;
 import io.snyk.plugins.artifactory.exception.SnykAPIFailureException;
+import io.snyk.plugins.artifactory.model.TestResult;
 import io.snyk.plugins.artifactory.scanner.PackageScanner;
 import io.snyk.plugins.artifactory.scanner.SnykDetailsUrl;
 import io.snyk.plugins.artifactory.scanner.TestResultConverter;
+import io.snyk.sdk.api.IssueDocument;
 import io.snyk.sdk.api.SnykClient;
+import io.snyk.sdk.api.SnykHttpRequestBuilder;
 import io.snyk.sdk.api.SnykResult;
-import io.snyk.sdk.model.TestResult;
+import io.snyk.sdk.model.SeverityCounts;
 import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 import org.slf4j.Logger;
 
 import java.net.URLEncoder;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.API_ORGANIZATION;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -35,8 +38,7 @@ public class NpmScanner implements PackageScanner {
   }
 
   public static Optional<PackageURLDetails> getPackageDetailsFromUrl(String repoPath) {
-    Pattern pattern = Pattern.compile("^(?:.+:)?(?<packageName>.+)/-/.+-(?<packageVersion>\\d+\\.\\d+\\.\\d+.*)\\.tgz$");
-    Matcher matcher = pattern.matcher(repoPath);
+    Matcher matcher = NpmPackage.TARBALL_PATH.matcher(repoPath);
     if (matcher.matches()) {
       return Optional.of(new PackageURLDetails(
         matcher.group("packageName"),
@@ -50,28 +52,62 @@ public class NpmScanner implements PackageScanner {
     return SnykDetailsUrl.create("npm", details.name, details.version).toString();
   }
 
-  public io.snyk.plugins.artifactory.model.TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
-    PackageURLDetails details = getPackageDetailsFromUrl(repoPath.toString())
-      .orElseThrow(() -> new CannotScanException("Package details not provided."));
+  public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return retest(fileLayoutInfo, repoPath, Optional.empty());
+  }
 
-    SnykResult<TestResult> result;
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    PackageURLDetails details = parse(repoPath);
+
+    SnykResult<SeverityCounts> result;
     try {
       LOG.debug("Running Snyk test: {}", repoPath);
-      result = snykClient.get(TestResult.class, request ->
-        request
-          .withPath(String.format("v1/test/npm/%s/%s",
-            URLEncoder.encode(details.name, UTF_8),
-            URLEncoder.encode(details.version, UTF_8)
-          ))
-          .withQueryParam("org", configurationModule.getProperty(API_ORGANIZATION))
-      );
+      result = snykClient.getSeverityCounts(IssueDocument.TEST_RESULT, request -> testRequest(request, details)
+        .withValidator(previous.flatMap(TestResult::getValidator)));
     } catch (Exception e) {
       throw new SnykAPIFailureException(e);
     }
 
-    TestResult testResult = result.get().orElseThrow(() -> new SnykAPIFailureException(result));
-    testResult.packageDetailsURL = getPackageDetailsURL(details);
-    return TestResultConverter.convert(testResult);
+    return toTestResult(result, details, previous);
+  }
+
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    PackageURLDetails details = parse(repoPath);
+
+    LOG.debug("Running Snyk test asynchronously: {}", repoPath);
+    return snykClient.getSeverityCountsAsync(IssueDocument.TEST_RESULT, request -> testRequest(request, details))
+      .handle((result, error) -> {
+        if (error != null) {
+          throw SnykAPIFailureException.from(error);
+        }
+        return toTestResult(result, details, Optional.empty());
+      });
+  }
+
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    PackageURLDetails details = parse(repoPath);
+    return Optional.of("pkg:npm/" + details.name + "@" + details.version);
+  }
+
+  private static PackageURLDetails parse(RepoPath repoPath) {
+    return getPackageDetailsFromUrl(repoPath.toString())
+      .orElseThrow(() -> new CannotScanException("Package details not provided."));
+  }
+
+  private SnykHttpRequestBuilder testRequest(SnykHttpRequestBuilder request, PackageURLDetails details) {
+    return request
+      .withPath(String.format("v1/test/npm/%s/%s",
+        URLEncoder.encode(details.name, UTF_8),
+        URLEncoder.encode(details.version, UTF_8)
+      ))
+      .withQueryParam("org", configurationModule.getProperty(API_ORGANIZATION));
+  }
+
+  private static TestResult toTestResult(SnykResult<SeverityCounts> result, PackageURLDetails details, Optional<TestResult> previous) {
+    return TestResultConverter.convert(result, getPackageDetailsURL(details), previous);
   }
 
   public static class PackageURLDetails {
@@ -11,6 +11,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 public class NugetPackage {
   private static final Logger LOG = getLogger(NugetPackage.class);
+  private static final Pattern VERSION_SUFFIX = Pattern.compile("\\.([0-9]+\\..*)\\.nupkg");
   private final String name;
   private final String version;
 
@@ -33,8 +34,7 @@ public class NugetPackage {
       return Optional.empty();
     }
 
-    Pattern pattern = Pattern.compile("\\.([0-9]+\\..*)\\.nupkg");
-    Matcher matcher = pattern.matcher(artifactoryPackageName);
+    Matcher matcher = VERSION_SUFFIX.matcher(artifactoryPackageName);
     if (!matcher.find()) {
       LOG.warn("Unexpected Nuget package name: {}", artifactoryPackageName);
       return Optional.empty();
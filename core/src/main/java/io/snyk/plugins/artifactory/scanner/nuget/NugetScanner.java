@@ -8,6 +8,9 @@ import io.snyk.plugins.artifactory.scanner.purl.PurlScanner;
 import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 public class NugetScanner implements PackageScanner {
 
   private final PurlScanner purlScanner;
@@ -18,14 +21,34 @@ public class NugetScanner implements PackageScanner {
 
   @Override
   public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
-    NugetPackage pckg = NugetPackage.parse(repoPath.getName())
-      .orElseThrow(() -> new CannotScanException("Unexpected Nuget package name: " + repoPath.getName()));
+    NugetPackage pckg = parse(repoPath);
+    return purlScanner.scan(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()));
+  }
 
-    String purl = "pkg:nuget/" + pckg.getName() + "@" + pckg.getVersion();
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    NugetPackage pckg = parse(repoPath);
+    return purlScanner.retest(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()), previous);
+  }
 
-    String packageDetailsUrl = getModuleDetailsURL(pckg.getName(), pckg.getVersion());
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    NugetPackage pckg = parse(repoPath);
+    return purlScanner.scanAsync(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()));
+  }
+
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return Optional.of(purlOf(parse(repoPath)));
+  }
+
+  private static NugetPackage parse(RepoPath repoPath) {
+    return NugetPackage.parse(repoPath.getName())
+      .orElseThrow(() -> new CannotScanException("Unexpected Nuget package name: " + repoPath.getName()));
+  }
 
-    return purlScanner.scan(purl, packageDetailsUrl);
+  private static String purlOf(NugetPackage pckg) {
+    return "pkg:nuget/" + pckg.getName() + "@" + pckg.getVersion();
   }
 
   public static String getModuleDetailsURL(String name, String version) {
@@ -0,0 +1,274 @@
+package io.snyk.plugins.artifactory.scanner.purl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.snyk.plugins.artifactory.exception.SnykAPIFailureException;
+import io.snyk.plugins.artifactory.model.TestResult;
+import io.snyk.sdk.api.SnykClient;
+import io.snyk.sdk.api.SnykHttpRequestBuilder;
+import io.snyk.sdk.model.SeverityCounts;
+import io.snyk.sdk.model.purl.PackagesIssues;
+import io.snyk.sdk.model.purl.PackagesIssuesRequest;
+import io.snyk.sdk.model.purl.PurlIssue;
+import org.slf4j.Logger;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A {@link PurlScanner} that collects the purls requested within a short window and tests them together
+ * with a single call to the bulk {@code rest/orgs/{org}/packages/issues} endpoint.
+ * Issues in the response are fanned back out to every caller waiting for one of the purls.
+ * <p>
+ * Purls the bulk endpoint reports errors for, or that may be on a further result page, are tested
+ * individually so that a package is never reported clean just because it was missing from a batch.
+ */
+public class BatchingPurlScanner extends PurlScanner implements AutoCloseable {
+
+  private static final Logger LOG = getLogger(BatchingPurlScanner.class);
+
+  /** Largest number of purls the bulk endpoint accepts per request. */
+  public static final int MAX_BATCH_SIZE = 1000;
+
+  private final Duration window;
+  private final int maxBatchSize;
+  private final ScheduledExecutorService scheduler;
+
+  private final Object lock = new Object();
+  private Map<String, CompletableFuture<SeverityCounts>> pending = new LinkedHashMap<>();
+  private ScheduledFuture<?> flushTimer;
+  private boolean closed;
+
+  public BatchingPurlScanner(SnykClient snykClient, String orgId, Duration window, int maxBatchSize) {
+    super(snykClient, orgId);
+    this.window = window;
+    this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, MAX_BATCH_SIZE));
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "snyk-purl-batch");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public TestResult scan(String purl, String packageDetailsUrl) {
+    try {
+      return scanAsync(purl, packageDetailsUrl).join();
+    } catch (RuntimeException e) {
+      throw SnykAPIFailureException.from(e);
+    }
+  }
+
+  @Override
+  protected CompletableFuture<SeverityCounts> severitiesAsync(String purl) {
+    Map<String, CompletableFuture<SeverityCounts>> full = null;
+    CompletableFuture<SeverityCounts> future;
+    synchronized (lock) {
+      if (closed) {
+        return super.severitiesAsync(purl);
+      }
+      future = pending.get(purl);
+      if (future != null) {
+        return future;
+      }
+      future = new CompletableFuture<>();
+      boolean first = pending.isEmpty();
+      pending.put(purl, future);
+      if (pending.size() >= maxBatchSize) {
+        full = takePending();
+      } else if (first) {
+        Map<String, CompletableFuture<SeverityCounts>> batch = pending;
+        flushTimer = scheduler.schedule(() -> flush(batch), window.toMillis(), TimeUnit.MILLISECONDS);
+      }
+    }
+    if (full != null) {
+      send(full);
+    }
+    return future;
+  }
+
+  /**
+   * Sends whatever is pending and falls back to individual requests for purls requested afterwards.
+   */
+  @Override
+  public void close() {
+    Map<String, CompletableFuture<SeverityCounts>> remaining;
+    synchronized (lock) {
+      closed = true;
+      remaining = takePending();
+    }
+    scheduler.shutdownNow();
+    if (!remaining.isEmpty()) {
+      send(remaining);
+    }
+  }
+
+  /**
+   * Sends {@code batch} when its window ends, unless it was already taken because it filled up or the scanner closed.
+   */
+  private void flush(Map<String, CompletableFuture<SeverityCounts>> batch) {
+    synchronized (lock) {
+      if (pending != batch) {
+        return;
+      }
+      takePending();
+    }
+    send(batch);
+  }
+
+  private Map<String, CompletableFuture<SeverityCounts>> takePending() {
+    if (flushTimer != null) {
+      flushTimer.cancel(false);
+      flushTimer = null;
+    }
+    Map<String, CompletableFuture<SeverityCounts>> batch = pending;
+    pending = new LinkedHashMap<>();
+    return batch;
+  }
+
+  private void send(Map<String, CompletableFuture<SeverityCounts>> batch) {
+    List<String> purls = new ArrayList<>(batch.keySet());
+    LOG.debug("Running batched Snyk test for {} packages", purls.size());
+    getSnykClient().postAsync(PackagesIssues.class, request -> bulkIssuesRequest(request, purls))
+      .whenComplete((result, error) -> {
+        if (error != null) {
+          SnykAPIFailureException failure = SnykAPIFailureException.from(error);
+          batch.values().forEach(future -> future.completeExceptionally(failure));
+        } else if (result.get().isEmpty()) {
+          SnykAPIFailureException failure = new SnykAPIFailureException(result);
+          batch.values().forEach(future -> future.completeExceptionally(failure));
+        } else {
+          fanOut(batch, result.get().get());
+        }
+      });
+  }
+
+  private void fanOut(Map<String, CompletableFuture<SeverityCounts>> batch, PackagesIssues response) {
+    Map<String, List<PurlIssue>> issuesByPurl = groupByPurl(response);
+    List<String> requested = new ArrayList<>(batch.keySet());
+    List<Optional<String>> errorPurls = errorPurls(response, requested);
+    Set<String> failedPurls = new HashSet<>();
+    errorPurls.forEach(errorPurl -> errorPurl.ifPresent(failedPurls::add));
+    boolean incomplete = (response.links != null && response.links.next != null)
+      || errorPurls.stream().anyMatch(Optional::isEmpty);
+
+    batch.forEach((purl, future) -> {
+      List<PurlIssue> issues = issuesByPurl.get(normalise(purl));
+      if (failedPurls.contains(normalise(purl)) || (incomplete && issues == null)) {
+        LOG.debug("Batched Snyk test has no complete result for {}, testing it individually", purl);
+        super.severitiesAsync(purl).whenComplete((single, error) -> {
+          if (error != null) {
+            future.completeExceptionally(SnykAPIFailureException.from(error));
+          } else {
+            future.complete(single);
+          }
+        });
+        return;
+      }
+      future.complete(count(issues != null ? issues : List.of()));
+    });
+  }
+
+  private static SeverityCounts count(List<PurlIssue> issues) {
+    SeverityCounts counts = new SeverityCounts();
+    for (PurlIssue issue : issues) {
+      if (issue.attribute != null && issue.attribute.severity != null) {
+        counts.addVulnerability(issue.attribute.severity);
+      }
+    }
+    return counts;
+  }
+
+  private static Map<String, List<PurlIssue>> groupByPurl(PackagesIssues response) {
+    Map<String, List<PurlIssue>> issuesByPurl = new HashMap<>();
+    if (response.purlIssues == null) {
+      return issuesByPurl;
+    }
+    for (PurlIssue issue : response.purlIssues) {
+      if (issue.attribute == null || issue.attribute.coordinates == null) {
+        continue;
+      }
+      issue.attribute.coordinates.stream()
+        .filter(coordinate -> coordinate.representations != null)
+        .map(coordinate -> coordinate.representations)
+        .flatMap(List::stream)
+        .filter(representation -> representation.pckg != null && representation.pckg.url != null)
+        .map(representation -> normalise(representation.pckg.url))
+        .distinct()
+        .forEach(purl -> issuesByPurl.computeIfAbsent(purl, p -> new ArrayList<>()).add(issue));
+    }
+    return issuesByPurl;
+  }
+
+  /**
+   * The normalised purl of each error in the response, or empty for an error that does not say which package
+   * it is about, in which case every purl without issues in the response is treated as failed.
+   */
+  private static List<Optional<String>> errorPurls(PackagesIssues response, List<String> requested) {
+    if (response.meta == null || response.meta.errors == null) {
+      return List.of();
+    }
+    List<Optional<String>> errorPurls = new ArrayList<>();
+    for (JsonNode error : response.meta.errors) {
+      errorPurls.add(errorPurl(error, requested).map(BatchingPurlScanner::normalise));
+    }
+    return errorPurls;
+  }
+
+  /**
+   * Reads the purl from the error's {@code meta.purl}, or from a {@code source.pointer} to one of the
+   * requested purls, e.g. {@code /data/attributes/purls/3}.
+   */
+  private static Optional<String> errorPurl(JsonNode error, List<String> requested) {
+    JsonNode purl = error.path("meta").path("purl");
+    if (purl.isTextual()) {
+      return Optional.of(purl.textValue());
+    }
+    String pointer = error.path("source").path("pointer").asText("");
+    String prefix = "/data/attributes/purls/";
+    if (pointer.startsWith(prefix)) {
+      try {
+        int index = Integer.parseInt(pointer.substring(prefix.length()));
+        if (index >= 0 && index < requested.size()) {
+          return Optional.of(requested.get(index));
+        }
+      } catch (NumberFormatException e) {
+        return Optional.empty();
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Purls may come back with percent-encoding or qualifiers that differ from the requested ones.
+   */
+  private static String normalise(String purl) {
+    int qualifiers = purl.indexOf('?');
+    String withoutQualifiers = qualifiers >= 0 ? purl.substring(0, qualifiers) : purl;
+    return URLDecoder.decode(withoutQualifiers.replace("+", "%2B"), UTF_8).toLowerCase(Locale.ROOT);
+  }
+
+  private SnykHttpRequestBuilder bulkIssuesRequest(SnykHttpRequestBuilder request, List<String> purls) {
+    return request
+      .withPath(String.format("rest/orgs/%s/packages/issues", URLEncoder.encode(getOrgId(), UTF_8)))
+      .withQueryParam("version", "2024-10-15")
+      .withJsonBody(new PackagesIssuesRequest(purls));
+  }
+}
@@ -3,12 +3,17 @@ package io.snyk.plugins.artifactory.scanner.purl;
 import io.snyk.plugins.artifactory.exception.SnykAPIFailureException;
 import io.snyk.plugins.artifactory.model.TestResult;
 import io.snyk.plugins.artifactory.scanner.TestResultConverter;
+import io.snyk.sdk.api.IssueDocument;
+import io.snyk.sdk.api.ResponseValidator;
 import io.snyk.sdk.api.SnykClient;
+import io.snyk.sdk.api.SnykHttpRequestBuilder;
 import io.snyk.sdk.api.SnykResult;
-import io.snyk.sdk.model.purl.PurlIssues;
+import io.snyk.sdk.model.SeverityCounts;
 import org.slf4j.Logger;
 
 import java.net.URLEncoder;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -26,25 +31,78 @@ public class PurlScanner {
   }
 
   public TestResult scan(String purl, String packageDetailsUrl) {
-    SnykResult<PurlIssues> result;
+    SnykResult<SeverityCounts> result;
     try {
       LOG.debug("Running Snyk test: {}", packageDetailsUrl);
-      result = snykClient.get(PurlIssues.class, request ->
-        request
-          .withPath(String.format("rest/orgs/%s/packages/%s/issues",
-            URLEncoder.encode(orgId, UTF_8),
-            URLEncoder.encode(purl, UTF_8))
-          )
-          .withQueryParam("version", "2024-10-15")
-      );
+      result = snykClient.getSeverityCounts(IssueDocument.PURL_ISSUES, request -> issuesRequest(request, purl));
     } catch (Exception e) {
       throw new SnykAPIFailureException(e);
     }
 
-    PurlIssues testResult = result.get().orElseThrow(() -> new SnykAPIFailureException(result));
-    testResult.packageDetailsUrl = packageDetailsUrl;
+    return TestResultConverter.convert(result, packageDetailsUrl, Optional.empty());
+  }
+
+  /**
+   * Tests a package again, conditional on the validator of the {@code previous} result when it has one.
+   * Without a validator this is the same as {@link #scan(String, String)}.
+   */
+  public TestResult retest(String purl, String packageDetailsUrl, Optional<TestResult> previous) {
+    Optional<ResponseValidator> validator = previous.flatMap(TestResult::getValidator);
+    if (validator.isEmpty()) {
+      return scan(purl, packageDetailsUrl);
+    }
+    SnykResult<SeverityCounts> result;
+    try {
+      LOG.debug("Running conditional Snyk test: {}", packageDetailsUrl);
+      result = snykClient.getSeverityCounts(IssueDocument.PURL_ISSUES, request -> issuesRequest(request, purl).withValidator(validator));
+    } catch (Exception e) {
+      throw new SnykAPIFailureException(e);
+    }
+
+    return TestResultConverter.convert(result, packageDetailsUrl, previous);
+  }
+
+  /**
+   * Runs the same test as {@link #scan(String, String)} without blocking the calling thread.
+   * API failures complete the returned future with a {@link SnykAPIFailureException}.
+   */
+  public CompletableFuture<TestResult> scanAsync(String purl, String packageDetailsUrl) {
+    LOG.debug("Running Snyk test asynchronously: {}", packageDetailsUrl);
+    return severitiesAsync(purl).thenApply(counts -> toTestResult(counts, packageDetailsUrl));
+  }
+
+  /**
+   * Counts the issues of a single package version by severity. Subclasses may override this to change how requests are sent.
+   */
+  protected CompletableFuture<SeverityCounts> severitiesAsync(String purl) {
+    return snykClient.getSeverityCountsAsync(IssueDocument.PURL_ISSUES, request -> issuesRequest(request, purl))
+      .handle((result, error) -> {
+        if (error != null) {
+          throw SnykAPIFailureException.from(error);
+        }
+        return result.get().orElseThrow(() -> new SnykAPIFailureException(result));
+      });
+  }
+
+  protected SnykClient getSnykClient() {
+    return snykClient;
+  }
+
+  protected String getOrgId() {
+    return orgId;
+  }
+
+  private SnykHttpRequestBuilder issuesRequest(SnykHttpRequestBuilder request, String purl) {
+    return request
+      .withPath(String.format("rest/orgs/%s/packages/%s/issues",
+        URLEncoder.encode(orgId, UTF_8),
+        URLEncoder.encode(purl, UTF_8))
+      )
+      .withQueryParam("version", "2024-10-15");
+  }
 
-    return TestResultConverter.convert(testResult);
+  private static TestResult toTestResult(SeverityCounts counts, String packageDetailsUrl) {
+    return TestResultConverter.convert(counts, packageDetailsUrl);
   }
 
 }
@@ -11,6 +11,9 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 public class PythonPackage {
   private static final Logger LOG = getLogger(PythonPackage.class);
+  // Matches full path: pypi:simple/package/version/package-name-version.tar.gz
+  // Extracts package name and version from the filename at the end
+  static final Pattern DISTRIBUTION_PATH = Pattern.compile("^.+:.+/.+/.+/(?<packageName>.+)-(?<packageVersion>\\d+(?:\\.[A-Za-z0-9]+)*).*\\.(?:whl|egg|zip|tar\\.gz)$");
   private final String name;
   private final String version;
 
@@ -44,10 +47,7 @@ public class PythonPackage {
       return Optional.empty();
     }
 
-    // Pattern matches full path: pypi:simple/package/version/package-name-version.tar.gz
-    // Extracts package name and version from the filename at the end
-    Pattern pattern = Pattern.compile("^.+:.+/.+/.+/(?<packageName>.+)-(?<packageVersion>\\d+(?:\\.[A-Za-z0-9]+)*).*\\.(?:whl|egg|zip|tar\\.gz)$");
-    Matcher matcher = pattern.matcher(repoPath);
+    Matcher matcher = DISTRIBUTION_PATH.matcher(repoPath);
     
     if (!matcher.matches()) {
       LOG.warn("Unexpected Python package path: {}", repoPath);
@@ -9,6 +9,9 @@ import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 import org.slf4j.Logger;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 import static org.slf4j.LoggerFactory.getLogger;
 
 public class PythonPurlScanner implements PackageScanner {
@@ -22,17 +25,37 @@ public class PythonPurlScanner implements PackageScanner {
 
   @Override
   public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    PythonPackage pckg = parse(fileLayoutInfo, repoPath);
+    return purlScanner.scan(purlOf(pckg), getModuleDetailsURL(pckg));
+  }
+
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    PythonPackage pckg = parse(fileLayoutInfo, repoPath);
+    return purlScanner.retest(purlOf(pckg), getModuleDetailsURL(pckg), previous);
+  }
+
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    PythonPackage pckg = parse(fileLayoutInfo, repoPath);
+    return purlScanner.scanAsync(purlOf(pckg), getModuleDetailsURL(pckg));
+  }
+
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return Optional.of(purlOf(parse(fileLayoutInfo, repoPath)));
+  }
+
+  private static PythonPackage parse(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
     LOG.debug("Python: repoPath.toString() {}", repoPath.toString());
 
-    PythonPackage pckg = PythonPackage.parseFromFileLayoutInfo(fileLayoutInfo)
+    return PythonPackage.parseFromFileLayoutInfo(fileLayoutInfo)
       .orElseGet(() -> PythonPackage.parseFromUrl(repoPath.toString())
         .orElseThrow(() -> new CannotScanException("Module details not provided.")));
+  }
 
-    String purl = "pkg:pypi/" + pckg.getName() + "@" + pckg.getVersion();
-
-    String packageDetailsUrl = getModuleDetailsURL(pckg);
-
-    return purlScanner.scan(purl, packageDetailsUrl);
+  private static String purlOf(PythonPackage pckg) {
+    return "pkg:pypi/" + pckg.getName() + "@" + pckg.getVersion();
   }
 
   public static String getModuleDetailsURL(PythonPackage pckg) {
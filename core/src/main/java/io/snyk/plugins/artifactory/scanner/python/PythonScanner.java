@@ -3,20 +3,23 @@ package io.snyk.plugins.artifactory.scanner.python;
 import io.snyk.plugins.artifactory.configuration.ConfigurationModule;
 import io.snyk.plugins.artifactory.exception.CannotScanException;
 import io.snyk.plugins.artifactory.exception.SnykAPIFailureException;
+import io.snyk.plugins.artifactory.model.TestResult;
 import io.snyk.plugins.artifactory.scanner.PackageScanner;
 import io.snyk.plugins.artifactory.scanner.SnykDetailsUrl;
 import io.snyk.plugins.artifactory.scanner.TestResultConverter;
+import io.snyk.sdk.api.IssueDocument;
 import io.snyk.sdk.api.SnykClient;
+import io.snyk.sdk.api.SnykHttpRequestBuilder;
 import io.snyk.sdk.api.SnykResult;
-import io.snyk.sdk.model.TestResult;
+import io.snyk.sdk.model.SeverityCounts;
 import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 import org.slf4j.Logger;
 
 import java.net.URLEncoder;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.API_ORGANIZATION;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -47,8 +50,7 @@ public class PythonScanner implements PackageScanner {
   }
 
   public static Optional<ModuleURLDetails> getModuleDetailsFromUrl(String repoPath) {
-    Pattern pattern = Pattern.compile("^.+:.+/.+/.+/(?<packageName>.+)-(?<packageVersion>\\d+(?:\\.[A-Za-z0-9]+)*).*\\.(?:whl|egg|zip|tar\\.gz)$");
-    Matcher matcher = pattern.matcher(repoPath);
+    Matcher matcher = PythonPackage.DISTRIBUTION_PATH.matcher(repoPath);
     if (matcher.matches()) {
       return Optional.of(new ModuleURLDetails(
         matcher.group("packageName"),
@@ -62,29 +64,63 @@ public class PythonScanner implements PackageScanner {
     return SnykDetailsUrl.create("pip", details.name, details.version).toString();
   }
 
-  public io.snyk.plugins.artifactory.model.TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
-    ModuleURLDetails details = getModuleDetailsFromFileLayoutInfo(fileLayoutInfo)
-      .orElseGet(() -> getModuleDetailsFromUrl(repoPath.toString())
-        .orElseThrow(() -> new CannotScanException("Module details not provided.")));
+  public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return retest(fileLayoutInfo, repoPath, Optional.empty());
+  }
 
-    SnykResult<TestResult> result;
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    ModuleURLDetails details = parse(fileLayoutInfo, repoPath);
+
+    SnykResult<SeverityCounts> result;
     try {
       LOG.debug("Running Snyk test: {}", repoPath);
-      result = snykClient.get(TestResult.class, request ->
-        request
-          .withPath(String.format("v1/test/pip/%s/%s",
-            URLEncoder.encode(details.name, UTF_8),
-            URLEncoder.encode(details.version, UTF_8))
-          )
-          .withQueryParam("org", configurationModule.getProperty(API_ORGANIZATION))
-      );
+      result = snykClient.getSeverityCounts(IssueDocument.TEST_RESULT, request -> testRequest(request, details)
+        .withValidator(previous.flatMap(TestResult::getValidator)));
     } catch (Exception e) {
       throw new SnykAPIFailureException(e);
     }
 
-    TestResult testResult = result.get().orElseThrow(() -> new SnykAPIFailureException(result));
-    testResult.packageDetailsURL = getModuleDetailsURL(details);
-    return TestResultConverter.convert(testResult);
+    return toTestResult(result, details, previous);
+  }
+
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    ModuleURLDetails details = parse(fileLayoutInfo, repoPath);
+
+    LOG.debug("Running Snyk test asynchronously: {}", repoPath);
+    return snykClient.getSeverityCountsAsync(IssueDocument.TEST_RESULT, request -> testRequest(request, details))
+      .handle((result, error) -> {
+        if (error != null) {
+          throw SnykAPIFailureException.from(error);
+        }
+        return toTestResult(result, details, Optional.empty());
+      });
+  }
+
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    ModuleURLDetails details = parse(fileLayoutInfo, repoPath);
+    return Optional.of("pkg:pypi/" + details.name + "@" + details.version);
+  }
+
+  private static ModuleURLDetails parse(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return getModuleDetailsFromFileLayoutInfo(fileLayoutInfo)
+      .orElseGet(() -> getModuleDetailsFromUrl(repoPath.toString())
+        .orElseThrow(() -> new CannotScanException("Module details not provided.")));
+  }
+
+  private SnykHttpRequestBuilder testRequest(SnykHttpRequestBuilder request, ModuleURLDetails details) {
+    return request
+      .withPath(String.format("v1/test/pip/%s/%s",
+        URLEncoder.encode(details.name, UTF_8),
+        URLEncoder.encode(details.version, UTF_8))
+      )
+      .withQueryParam("org", configurationModule.getProperty(API_ORGANIZATION));
+  }
+
+  private static TestResult toTestResult(SnykResult<SeverityCounts> result, ModuleURLDetails details, Optional<TestResult> previous) {
+    return TestResultConverter.convert(result, getModuleDetailsURL(details), previous);
   }
 
   public static class ModuleURLDetails {
@@ -10,6 +10,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 public class RubyGemsPackage {
   private static final Logger LOG = getLogger(RubyGemsPackage.class);
+  private static final Pattern GEM_FILE = Pattern.compile("(.*)-([^-]+)\\.gem", Pattern.CASE_INSENSITIVE);
   private final String name;
   private final String version;
 
@@ -31,8 +32,7 @@ public class RubyGemsPackage {
       LOG.warn("Unexpected Gems package name: null");
       return Optional.empty();
     }
-    Pattern pattern = Pattern.compile("(.*)-([^-]+)\\.gem", Pattern.CASE_INSENSITIVE);
-    Matcher matcher = pattern.matcher(artifactoryPackageName);
+    Matcher matcher = GEM_FILE.matcher(artifactoryPackageName);
     if(!matcher.matches()) {
       LOG.warn("Unexpected Gems package name: {}", artifactoryPackageName);
       return Optional.empty();
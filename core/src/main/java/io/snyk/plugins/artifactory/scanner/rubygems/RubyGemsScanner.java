@@ -8,6 +8,9 @@ import io.snyk.plugins.artifactory.scanner.purl.PurlScanner;
 import org.artifactory.fs.FileLayoutInfo;
 import org.artifactory.repo.RepoPath;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 public class RubyGemsScanner implements PackageScanner {
 
   private final PurlScanner purlScanner;
@@ -18,14 +21,34 @@ public class RubyGemsScanner implements PackageScanner {
 
   @Override
   public TestResult scan(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
-    RubyGemsPackage pckg = RubyGemsPackage.parse(repoPath.getName())
-      .orElseThrow(() -> new CannotScanException("Unexpected Ruby Gems package name: " + repoPath.getName()));
+    RubyGemsPackage pckg = parse(repoPath);
+    return purlScanner.scan(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()));
+  }
 
-    String purl = "pkg:gem/" + pckg.getName() + "@" + pckg.getVersion();
+  @Override
+  public TestResult retest(FileLayoutInfo fileLayoutInfo, RepoPath repoPath, Optional<TestResult> previous) {
+    RubyGemsPackage pckg = parse(repoPath);
+    return purlScanner.retest(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()), previous);
+  }
 
-    String packageDetailsUrl = getModuleDetailsURL(pckg.getName(), pckg.getVersion());
+  @Override
+  public CompletableFuture<TestResult> scanAsync(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    RubyGemsPackage pckg = parse(repoPath);
+    return purlScanner.scanAsync(purlOf(pckg), getModuleDetailsURL(pckg.getName(), pckg.getVersion()));
+  }
+
+  @Override
+  public Optional<String> purl(FileLayoutInfo fileLayoutInfo, RepoPath repoPath) {
+    return Optional.of(purlOf(parse(repoPath)));
+  }
+
+  private static RubyGemsPackage parse(RepoPath repoPath) {
+    return RubyGemsPackage.parse(repoPath.getName())
+      .orElseThrow(() -> new CannotScanException("Unexpected Ruby Gems package name: " + repoPath.getName()));
+  }
 
-    return purlScanner.scan(purl, packageDetailsUrl);
+  private static String purlOf(RubyGemsPackage pckg) {
+    return "pkg:gem/" + pckg.getName() + "@" + pckg.getVersion();
   }
 
   public static String getModuleDetailsURL(String name, String version) {
@@ -0,0 +1,189 @@
+package io.snyk.plugins.artifactory.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AppendOnlyStoreTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void get_returnsLatestValue() throws IOException {
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      store.put("npm-remote:lodash/-/lodash-4.17.21.tgz", bytes("first"));
+      store.put("npm-remote:lodash/-/lodash-4.17.21.tgz", bytes("second"));
+
+      assertThat(store.get("npm-remote:lodash/-/lodash-4.17.21.tgz")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("second")));
+      assertThat(store.get("npm-remote:left-pad/-/left-pad-1.3.0.tgz")).isEmpty();
+      assertThat(store.size()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void remove_dropsValue() throws IOException {
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      store.put("key", bytes("value"));
+      store.remove("key");
+
+      assertThat(store.get("key")).isEmpty();
+      assertThat(store.size()).isZero();
+    }
+  }
+
+  @Test
+  void valuesSurviveReopening() throws IOException {
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      store.put("key", bytes("value"));
+    }
+
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      assertThat(store.get("key")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("value")));
+    }
+  }
+
+  @Test
+  void closedStore_isEmptyAndIgnoresWrites() throws IOException {
+    AppendOnlyStore store = new AppendOnlyStore(directory);
+    store.put("key", bytes("value"));
+    store.close();
+
+    assertThat(store.get("key")).isEmpty();
+    store.put("other", bytes("value"));
+    store.remove("key");
+
+    try (AppendOnlyStore reopened = new AppendOnlyStore(directory)) {
+      assertThat(reopened.get("key")).isPresent();
+      assertThat(reopened.get("other")).isEmpty();
+    }
+  }
+
+  @Test
+  void open_sharesStoreUntilLastUserClosesIt() throws IOException {
+    AppendOnlyStore first = AppendOnlyStore.open(directory);
+    AppendOnlyStore second = AppendOnlyStore.open(directory);
+    assertThat(second).isSameAs(first);
+
+    first.close();
+    second.put("key", bytes("value"));
+    assertThat(second.get("key")).isPresent();
+    second.close();
+
+    assertThat(second.get("key")).isEmpty();
+    try (AppendOnlyStore reopened = AppendOnlyStore.open(directory)) {
+      assertThat(reopened).isNotSameAs(first);
+      assertThat(reopened.get("key")).isPresent();
+    }
+  }
+
+  @Test
+  void secondInstance_isRejectedWhileStoreIsOpen() throws IOException {
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      assertThatThrownBy(() -> new AppendOnlyStore(directory))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("already in use");
+      assertThatThrownBy(() -> AppendOnlyStore.open(directory)).isInstanceOf(IOException.class);
+      store.put("key", bytes("value"));
+    }
+
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      assertThat(store.get("key")).isPresent();
+    }
+  }
+
+  @Test
+  void collidingKeys_keepSlotsOfTheirOwn() throws IOException {
+    try (AppendOnlyStore store = new AppendOnlyStore(directory, key -> 42L)) {
+      store.put("first", bytes("one"));
+      store.put("second", bytes("two"));
+      store.put("third", bytes("three"));
+      store.remove("first");
+
+      assertThat(store.get("first")).isEmpty();
+      assertThat(store.get("second")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("two")));
+      assertThat(store.get("third")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("three")));
+      assertThat(store.size()).isEqualTo(2);
+    }
+
+    Files.delete(directory.resolve(AppendOnlyStore.INDEX_FILE));
+
+    try (AppendOnlyStore store = new AppendOnlyStore(directory, key -> 42L)) {
+      store.put("first", bytes("again"));
+
+      assertThat(store.get("first")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("again")));
+      assertThat(store.get("second")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("two")));
+      assertThat(store.get("third")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("three")));
+      assertThat(store.size()).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void missingIndex_isRebuiltFromLog() throws IOException {
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      store.put("a", bytes("1"));
+      store.put("b", bytes("2"));
+      store.remove("a");
+    }
+    Files.delete(directory.resolve(AppendOnlyStore.INDEX_FILE));
+
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      assertThat(store.get("a")).isEmpty();
+      assertThat(store.get("b")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("2")));
+      assertThat(store.size()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void truncatedLog_keepsCompleteRecords() throws IOException {
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      store.put("a", bytes("1"));
+      store.put("b", bytes("2"));
+    }
+    Path log = directory.resolve(AppendOnlyStore.LOG_FILE);
+    try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "rw")) {
+      file.setLength(file.length() - 1);
+    }
+
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      assertThat(store.get("a")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("1")));
+      assertThat(store.get("b")).isEmpty();
+
+      store.put("c", bytes("3"));
+      assertThat(store.get("c")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("3")));
+    }
+  }
+
+  @Test
+  void manyKeys_growIndexAndCompactLog() throws IOException {
+    Path log = directory.resolve(AppendOnlyStore.LOG_FILE);
+    try (AppendOnlyStore store = new AppendOnlyStore(directory)) {
+      long sizeOfOneRound = 0;
+      for (int round = 0; round < 3; round++) {
+        for (int i = 0; i < 5000; i++) {
+          store.put("key-" + i, bytes("value-" + round));
+        }
+        if (round == 0) {
+          sizeOfOneRound = Files.size(log);
+        }
+      }
+
+      assertThat(store.size()).isEqualTo(5000);
+      assertThat(store.get("key-0")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("value-2")));
+      assertThat(store.get("key-4999")).hasValueSatisfying(v -> assertThat(v).isEqualTo(bytes("value-2")));
+      assertThat(Files.size(log)).isLessThan(3 * sizeOfOneRound);
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(UTF_8);
+  }
+}
@@ -0,0 +1,65 @@
+package io.snyk.plugins.artifactory.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+  @Test
+  void get_returnsStoredValue() {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(5));
+
+    cache.put("npm:lodash", "result");
+
+    assertThat(cache.get("npm:lodash")).contains("result");
+  }
+
+  @Test
+  void put_evictsLeastRecentlyUsedEntryWhenFull() {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofMinutes(5));
+
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.get("a");
+    cache.put("c", "3");
+
+    assertThat(cache.get("a")).contains("1");
+    assertThat(cache.get("b")).isEmpty();
+    assertThat(cache.get("c")).contains("3");
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void get_dropsExpiredEntries() throws InterruptedException {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMillis(20));
+
+    cache.put("a", "1");
+    Thread.sleep(50);
+
+    assertThat(cache.get("a")).isEmpty();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void invalidate_removesEntry() {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(5));
+
+    cache.put("a", "1");
+    cache.invalidate("a");
+
+    assertThat(cache.get("a")).isEmpty();
+  }
+
+  @Test
+  void disabledCache_neverStores() {
+    ExpiringCache<String, String> cache = new ExpiringCache<>(0, Duration.ofMinutes(5));
+
+    cache.put("a", "1");
+
+    assertThat(cache.isEnabled()).isFalse();
+    assertThat(cache.get("a")).isEmpty();
+  }
+}
@@ -0,0 +1,49 @@
+package io.snyk.plugins.artifactory.configuration;
+
+import io.snyk.sdk.model.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PluginSettingsTest {
+
+  @Test
+  void from_defaults() {
+    PluginSettings settings = PluginSettings.from(new ConfigurationModule(new Properties()));
+
+    assertThat(settings.shouldTestContinuously()).isFalse();
+    assertThat(settings.shouldBlockOnApiFailure()).isFalse();
+    assertThat(settings.getLastModifiedAllowlist().isEmpty()).isTrue();
+    assertThat(settings.getValidationSettings().getVulnSeverityThreshold()).contains(Severity.LOW);
+  }
+
+  @Test
+  void from_parsesConfiguredValues() {
+    Properties properties = new Properties();
+    properties.put(TEST_CONTINUOUSLY.propertyKey(), "true");
+    properties.put(SCANNER_BLOCK_ON_API_FAILURE.propertyKey(), "true");
+    properties.put(SCANNER_LAST_MODIFIED_ALLOWLIST.propertyKey(), " npm-remote, ,maven ");
+    properties.put(SCANNER_VULNERABILITY_THRESHOLD.propertyKey(), "critical");
+
+    PluginSettings settings = PluginSettings.from(new ConfigurationModule(properties));
+
+    assertThat(settings.shouldTestContinuously()).isTrue();
+    assertThat(settings.shouldBlockOnApiFailure()).isTrue();
+    assertThat(settings.getLastModifiedAllowlist().matches("maven-central")).isTrue();
+    assertThat(settings.getLastModifiedAllowlist().matches("pypi-remote")).isFalse();
+    assertThat(settings.getValidationSettings().getVulnSeverityThreshold()).contains(Severity.CRITICAL);
+  }
+
+  @Test
+  void from_rejectsInvalidThresholdUpFront() {
+    Properties properties = new Properties();
+    properties.put(SCANNER_LICENSE_THRESHOLD.propertyKey(), "severe");
+
+    assertThatThrownBy(() -> PluginSettings.from(new ConfigurationModule(properties)))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+}
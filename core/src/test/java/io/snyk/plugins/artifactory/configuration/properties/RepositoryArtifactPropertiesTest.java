@@ -0,0 +1,102 @@
+package io.snyk.plugins.artifactory.configuration.properties;
+
+import org.artifactory.md.Properties;
+import org.artifactory.repo.RepoPath;
+import org.artifactory.repo.Repositories;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class RepositoryArtifactPropertiesTest {
+
+  RepoPath repoPath = mock(RepoPath.class);
+  Repositories repositories = mock(Repositories.class);
+  Properties current = mock(Properties.class);
+
+  @Test
+  void apply_readsPropertiesOnceAndOnlyWritesChanges() {
+    givenProperties(Map.of(
+      TEST_TIMESTAMP.propertyKey(), "2024-01-01T00:00Z",
+      ISSUE_URL.propertyKey(), "https://snyk.io/package/npm/lodash",
+      BLOCK_REASON.propertyKey(), "Artifact has vulnerabilities",
+      ISSUE_LICENSES_FORCE_DOWNLOAD.propertyKey(), "true"
+    ));
+
+    new RepositoryArtifactProperties(repoPath, repositories).apply(new PropertyUpdate()
+      .set(TEST_TIMESTAMP, "2024-02-01T00:00Z")
+      .set(ISSUE_URL, "https://snyk.io/package/npm/lodash")
+      .remove(BLOCK_REASON)
+      .remove(TEST_ETAG)
+      .setIfAbsent(ISSUE_VULNERABILITIES_FORCE_DOWNLOAD, "false")
+      .setIfAbsent(ISSUE_LICENSES_FORCE_DOWNLOAD, "false"));
+
+    verify(repositories).getProperties(repoPath);
+    verify(repositories).setProperty(repoPath, TEST_TIMESTAMP.propertyKey(), "2024-02-01T00:00Z");
+    verify(repositories).setProperty(repoPath, ISSUE_VULNERABILITIES_FORCE_DOWNLOAD.propertyKey(), "false");
+    verify(repositories).deleteProperty(repoPath, BLOCK_REASON.propertyKey());
+    verify(repositories, never()).hasProperty(any(), anyString());
+    verifyNoMoreInteractions(repositories);
+  }
+
+  @Test
+  void snapshot_readsAllPropertiesOnce() {
+    givenProperties(Map.of(
+      ISSUE_VULNERABILITIES_FORCE_DOWNLOAD.propertyKey(), "true",
+      BLOCK_REASON.propertyKey(), "Artifact has vulnerabilities"
+    ));
+    ArtifactProperties properties = RepositoryArtifactProperties.snapshot(repoPath, repositories);
+
+    assertThat(properties.get(ISSUE_VULNERABILITIES_FORCE_DOWNLOAD)).contains("true");
+    assertThat(properties.get(ISSUE_LICENSES_FORCE_DOWNLOAD)).isEmpty();
+    assertThat(properties.has(TEST_TIMESTAMP)).isFalse();
+    properties.remove(BLOCK_REASON);
+    properties.remove(BLOCK_REASON);
+
+    assertThat(properties.has(BLOCK_REASON)).isFalse();
+    verify(repositories).getProperties(repoPath);
+    verify(repositories).deleteProperty(repoPath, BLOCK_REASON.propertyKey());
+    verifyNoMoreInteractions(repositories);
+  }
+
+  @Test
+  void snapshot_seesItsOwnWrites() {
+    givenProperties(Map.of());
+    ArtifactProperties properties = RepositoryArtifactProperties.snapshot(repoPath, repositories);
+
+    properties.set(BLOCK_REASON, "Artifact has vulnerabilities");
+
+    assertThat(properties.get(BLOCK_REASON)).contains("Artifact has vulnerabilities");
+    verify(repositories).setProperty(repoPath, BLOCK_REASON.propertyKey(), "Artifact has vulnerabilities");
+  }
+
+  @Test
+  void detach_returnsIndependentSnapshot() {
+    givenProperties(Map.of(BLOCK_REASON.propertyKey(), "Artifact has vulnerabilities"));
+    ArtifactProperties properties = RepositoryArtifactProperties.snapshot(repoPath, repositories);
+    ArtifactProperties detached = properties.detach();
+
+    properties.remove(BLOCK_REASON);
+
+    assertThat(detached).isNotSameAs(properties);
+    assertThat(detached.get(BLOCK_REASON)).contains("Artifact has vulnerabilities");
+    verify(repositories, times(2)).getProperties(repoPath);
+  }
+
+  private void givenProperties(Map<String, String> values) {
+    when(repositories.getProperties(repoPath)).thenReturn(current);
+    when(current.keySet()).thenReturn(values.keySet());
+    values.forEach((key, value) -> when(current.get(key)).thenReturn(Set.of(value)));
+  }
+}
@@ -0,0 +1,72 @@
+package io.snyk.plugins.artifactory.ecosystem;
+
+import org.artifactory.repo.Repositories;
+import org.artifactory.repo.RepositoryConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RepositoryMetadataCacheTest {
+
+  Repositories repositories = mock(Repositories.class);
+
+  @Test
+  void get_readsRepositoryConfigurationOnce() {
+    givenRepository("npm-remote", "npm", "remote");
+    RepositoryMetadataCache cache = new RepositoryMetadataCache(repositories, Duration.ofMinutes(5));
+
+    assertThat(cache.get("npm-remote")).hasValueSatisfying(metadata -> {
+      assertThat(metadata.getPackageType()).contains("npm");
+      assertThat(metadata.isRemote()).isTrue();
+    });
+    assertThat(cache.get("npm-remote")).isPresent();
+
+    verify(repositories, times(1)).getRepositoryConfiguration("npm-remote");
+  }
+
+  @Test
+  void get_withZeroTtl_readsEveryTime() {
+    givenRepository("maven-local", "maven", "local");
+    RepositoryMetadataCache cache = new RepositoryMetadataCache(repositories, Duration.ZERO);
+
+    assertThat(cache.get("maven-local")).hasValueSatisfying(metadata -> assertThat(metadata.isRemote()).isFalse());
+    cache.get("maven-local");
+
+    verify(repositories, times(2)).getRepositoryConfiguration("maven-local");
+  }
+
+  @Test
+  void get_doesNotCacheMissingRepositories() {
+    RepositoryMetadataCache cache = new RepositoryMetadataCache(repositories, Duration.ofMinutes(5));
+
+    assertThat(cache.get("unknown")).isEmpty();
+    givenRepository("unknown", "pypi", "remote");
+
+    assertThat(cache.get("unknown")).isPresent();
+  }
+
+  @Test
+  void clear_readsConfigurationAgain() {
+    givenRepository("npm-remote", "npm", "remote");
+    RepositoryMetadataCache cache = new RepositoryMetadataCache(repositories, Duration.ofMinutes(5));
+    cache.get("npm-remote");
+
+    cache.clear();
+    cache.get("npm-remote");
+
+    verify(repositories, times(2)).getRepositoryConfiguration("npm-remote");
+  }
+
+  private void givenRepository(String repoKey, String packageType, String type) {
+    RepositoryConfiguration configuration = mock(RepositoryConfiguration.class);
+    when(configuration.getPackageType()).thenReturn(packageType);
+    when(configuration.getType()).thenReturn(type);
+    when(repositories.getRepositoryConfiguration(repoKey)).thenReturn(configuration);
+  }
+}
@@ -1,10 +1,13 @@
 package io.snyk.plugins.artifactory.model;
 
 import io.snyk.plugins.artifactory.configuration.properties.FakeArtifactProperties;
+import io.snyk.sdk.api.ResponseValidator;
 import io.snyk.sdk.model.Severity;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
+import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.stream.Stream;
 
 import static io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty.*;
@@ -170,4 +173,83 @@ class MonitoredArtifactTest {
 
     assertThat(MonitoredArtifact.read(properties)).contains(artifact);
   }
+
+  @Test
+  void write_keepsResponseValidatorForTheNextTest() {
+    FakeArtifactProperties properties = new FakeArtifactProperties("electron");
+    MonitoredArtifact artifact = new MonitoredArtifact("electron",
+      new TestResult(
+        ZonedDateTime.now(),
+        IssueSummary.from(Stream.of(Severity.HIGH)),
+        IssueSummary.from(Stream.empty()),
+        URI.create("https://app.snyk.io/package/electron/1.0.0"),
+        ResponseValidator.of("\"abc\"", null)
+      ),
+      new Ignores()
+    );
+
+    artifact.write(properties);
+
+    assertThat(properties.get(TEST_ETAG)).contains("\"abc\"");
+    assertThat(properties.get(TEST_LAST_MODIFIED)).isEmpty();
+    assertThat(MonitoredArtifact.read(properties)).contains(artifact);
+  }
+
+  @Test
+  void write_removesValidatorTheLatestResponseDidNotHave() {
+    FakeArtifactProperties properties = new FakeArtifactProperties("electron");
+    properties.set(TEST_ETAG, "\"abc\"");
+
+    new MonitoredArtifact("electron",
+      new TestResult(
+        IssueSummary.from(Stream.of(Severity.HIGH)),
+        IssueSummary.from(Stream.empty()),
+        URI.create("https://app.snyk.io/package/electron/1.0.0")
+      ),
+      new Ignores()
+    ).write(properties);
+
+    assertThat(properties.get(TEST_ETAG)).isEmpty();
+  }
+
+  @Test
+  void write_whenUnchanged_onlyUpdatesTimestamp() {
+    FakeArtifactProperties properties = new FakeArtifactProperties("electron");
+    TestResult previous = new TestResult(
+      ZonedDateTime.now().minusDays(1),
+      IssueSummary.from(Stream.of(Severity.HIGH)),
+      IssueSummary.from(Stream.empty()),
+      URI.create("https://app.snyk.io/package/electron/1.0.0"),
+      ResponseValidator.of("\"abc\"", null)
+    );
+    new MonitoredArtifact("electron", previous, new Ignores()).write(properties);
+    properties.set(ISSUE_URL_PLAINTEXT, "edited");
+
+    TestResult revalidated = previous.revalidated();
+    assertThat(revalidated.isUnchangedFrom(previous)).isTrue();
+    new MonitoredArtifact("electron", revalidated.asUnchanged(), new Ignores()).write(properties);
+
+    assertThat(properties.get(TEST_TIMESTAMP)).contains(revalidated.getTimestamp().toString());
+    assertThat(properties.get(ISSUE_URL_PLAINTEXT)).contains("edited");
+    assertThat(TestResult.read(properties)).contains(revalidated);
+  }
+
+  @Test
+  void withLastModifiedDate_leavesOriginalUnchanged() {
+    MonitoredArtifact artifact = new MonitoredArtifact("electron",
+      new TestResult(
+        IssueSummary.from(Stream.empty()),
+        IssueSummary.from(Stream.empty()),
+        URI.create("https://app.snyk.io/package/electron/1.0.0")
+      ),
+      new Ignores()
+    );
+    Instant lastModified = Instant.parse("2024-01-01T00:00:00Z");
+
+    MonitoredArtifact copy = artifact.withLastModifiedDate(lastModified);
+
+    assertThat(copy.getLastModifiedDate()).contains(lastModified);
+    assertThat(copy.getTestResult()).isEqualTo(artifact.getTestResult());
+    assertThat(artifact.getLastModifiedDate()).isEmpty();
+  }
 }
@@ -15,7 +15,10 @@ import java.net.URI;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.InvalidPropertiesFormatException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -101,6 +104,55 @@ class ArtifactCacheTest {
     assertThrows(RuntimeException.class, () -> cache.get(properties, this::failToFetch), "Failed to fetch artifact");
   }
 
+  @Test
+  void getArtifact_staleWhileRevalidate_servesStaleResultAndRevalidatesInBackground() {
+    ArtifactCache cache = new ArtifactCache(Duration.ofHours(1), Duration.ofDays(1), Runnable::run);
+    Optional<MonitoredArtifact> staleArtifact = cache.get(properties, () -> anArtifact(ZonedDateTime.now().minusHours(2)));
+
+    Optional<MonitoredArtifact> served = cache.get(properties, this::fetch);
+
+    assertEquals(staleArtifact, served);
+    assertNotEquals(staleArtifact, MonitoredArtifact.read(properties));
+  }
+
+  @Test
+  void getArtifact_staleWhileRevalidate_revalidatesOncePerArtifact() {
+    List<Runnable> background = new ArrayList<>();
+    AtomicInteger fetches = new AtomicInteger();
+    ArtifactCache cache = new ArtifactCache(Duration.ofHours(1), Duration.ofDays(1), background::add);
+    cache.get(properties, () -> anArtifact(ZonedDateTime.now().minusHours(2)));
+
+    cache.get(properties, () -> {
+      fetches.incrementAndGet();
+      return fetch();
+    });
+    cache.get(properties, () -> {
+      fetches.incrementAndGet();
+      return fetch();
+    });
+    background.forEach(Runnable::run);
+
+    assertEquals(1, background.size());
+    assertEquals(1, fetches.get());
+  }
+
+  @Test
+  void getArtifact_staleWhileRevalidate_whenBackgroundTestFails_keepsStaleResult() {
+    ArtifactCache cache = new ArtifactCache(Duration.ofHours(1), Duration.ofDays(1), Runnable::run);
+    Optional<MonitoredArtifact> staleArtifact = cache.get(properties, () -> anArtifact(ZonedDateTime.now().minusHours(2)));
+
+    assertEquals(staleArtifact, cache.get(properties, this::failToFetch));
+    assertEquals(staleArtifact, cache.get(properties, this::failToFetch));
+  }
+
+  @Test
+  void getArtifact_staleWhileRevalidate_pastHardDeadline_testsInline() {
+    ArtifactCache cache = new ArtifactCache(Duration.ofHours(1), Duration.ofDays(1), Runnable::run);
+    cache.get(properties, () -> anArtifact(ZonedDateTime.now().minusDays(2)));
+
+    assertThrows(RuntimeException.class, () -> cache.get(properties, this::failToFetch), "Failed to fetch artifact");
+  }
+
   private Optional<MonitoredArtifact> anArtifact(ZonedDateTime timestamp) {
     TestResult recentTestResult = new TestResult(timestamp, IssueSummary.from(Stream.empty()), IssueSummary.from(Stream.empty()), URI.create("https://snyk.io"));
     return Optional.of(new MonitoredArtifact(name, recentTestResult, new Ignores()));
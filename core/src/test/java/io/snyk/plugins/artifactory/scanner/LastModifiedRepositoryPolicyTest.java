@@ -27,7 +27,7 @@ class LastModifiedRepositoryPolicyTest {
 
   @Test
   void repoKeyMatchesAllowlist_substringMatch() {
-    List<String> patterns = List.of("-local", "cache");
+    RepoKeyAllowlist patterns = RepoKeyAllowlist.of(List.of("-local", "cache"));
     assertTrue(LastModifiedRepositoryPolicy.repoKeyMatchesAllowlist("npm-local", patterns));
     assertTrue(LastModifiedRepositoryPolicy.repoKeyMatchesAllowlist("maven-cache-remote", patterns));
     assertFalse(LastModifiedRepositoryPolicy.repoKeyMatchesAllowlist("npm-remote", patterns));
@@ -35,6 +35,6 @@ class LastModifiedRepositoryPolicyTest {
 
   @Test
   void repoKeyMatchesAllowlist_emptyPatterns_neverMatches() {
-    assertFalse(LastModifiedRepositoryPolicy.repoKeyMatchesAllowlist("anything", List.of()));
+    assertFalse(LastModifiedRepositoryPolicy.repoKeyMatchesAllowlist("anything", RepoKeyAllowlist.of(List.of())));
   }
 }
@@ -0,0 +1,88 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperties;
+import io.snyk.plugins.artifactory.configuration.properties.FakeArtifactProperties;
+import io.snyk.plugins.artifactory.model.Ignores;
+import io.snyk.plugins.artifactory.model.IssueSummary;
+import io.snyk.plugins.artifactory.model.MonitoredArtifact;
+import io.snyk.plugins.artifactory.model.TestResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryCachedArtifactResolverTest {
+
+  ArtifactProperties properties;
+
+  AtomicInteger propertyReads;
+
+  ArtifactResolver countingResolver;
+
+  @BeforeEach
+  void setUp() {
+    properties = new FakeArtifactProperties("npm-remote:lodash/-/lodash-4.17.21.tgz");
+    propertyReads = new AtomicInteger();
+    countingResolver = (props, fetch) -> {
+      propertyReads.incrementAndGet();
+      return new ReadOnlyArtifactResolver().get(props, fetch);
+    };
+    anArtifact().get().write(properties);
+  }
+
+  @Test
+  void get_servesRepeatedReadsFromMemory() {
+    MemoryCachedArtifactResolver resolver = new MemoryCachedArtifactResolver(countingResolver, 100, Duration.ofMinutes(5));
+
+    Optional<MonitoredArtifact> first = resolver.get(properties, Optional::empty);
+    Optional<MonitoredArtifact> second = resolver.get(properties, Optional::empty);
+
+    assertThat(first).isPresent();
+    assertThat(second).isEqualTo(first);
+    assertThat(propertyReads.get()).isEqualTo(1);
+  }
+
+  @Test
+  void get_afterInvalidate_readsPropertiesAgain() {
+    MemoryCachedArtifactResolver resolver = new MemoryCachedArtifactResolver(countingResolver, 100, Duration.ofMinutes(5));
+
+    resolver.get(properties, Optional::empty);
+    resolver.invalidate(properties.getArtifactPath());
+    resolver.get(properties, Optional::empty);
+
+    assertThat(propertyReads.get()).isEqualTo(2);
+  }
+
+  @Test
+  void get_doesNotCacheMissingResults() {
+    MemoryCachedArtifactResolver resolver = new MemoryCachedArtifactResolver(countingResolver, 100, Duration.ofMinutes(5));
+    ArtifactProperties unscanned = new FakeArtifactProperties("npm-remote:left-pad/-/left-pad-1.3.0.tgz");
+
+    assertThat(resolver.get(unscanned, Optional::empty)).isEmpty();
+    assertThat(resolver.get(unscanned, Optional::empty)).isEmpty();
+
+    assertThat(propertyReads.get()).isEqualTo(2);
+  }
+
+  @Test
+  void get_whenDisabled_alwaysDelegates() {
+    MemoryCachedArtifactResolver resolver = new MemoryCachedArtifactResolver(countingResolver, 0, Duration.ofMinutes(5));
+
+    resolver.get(properties, Optional::empty);
+    resolver.get(properties, Optional::empty);
+
+    assertThat(propertyReads.get()).isEqualTo(2);
+  }
+
+  private Optional<MonitoredArtifact> anArtifact() {
+    TestResult testResult = new TestResult(ZonedDateTime.now(), IssueSummary.from(Stream.empty()), IssueSummary.from(Stream.empty()), URI.create("https://snyk.io"));
+    return Optional.of(new MonitoredArtifact(properties.getArtifactPath(), testResult, new Ignores()));
+  }
+}
@@ -0,0 +1,80 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import io.snyk.plugins.artifactory.model.IssueSummary;
+import io.snyk.plugins.artifactory.model.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackageResultStoreTest {
+
+  AtomicInteger tests = new AtomicInteger();
+
+  @Test
+  void get_testsEachPackageVersionOnce() {
+    PackageResultStore store = new PackageResultStore(100, Duration.ofHours(1));
+
+    TestResult first = store.get("pkg:npm/lodash@4.17.21", countingTest());
+    TestResult second = store.get("pkg:npm/lodash@4.17.21", countingTest());
+
+    assertThat(second).isSameAs(first);
+    assertThat(tests.get()).isEqualTo(1);
+  }
+
+  @Test
+  void get_testsDifferentVersionsSeparately() {
+    PackageResultStore store = new PackageResultStore(100, Duration.ofHours(1));
+
+    store.get("pkg:npm/lodash@4.17.20", countingTest());
+    store.get("pkg:npm/lodash@4.17.21", countingTest());
+
+    assertThat(tests.get()).isEqualTo(2);
+  }
+
+  @Test
+  void get_afterInvalidate_testsAgain() {
+    PackageResultStore store = new PackageResultStore(100, Duration.ofHours(1));
+
+    store.get("pkg:npm/lodash@4.17.21", countingTest());
+    store.invalidate("pkg:npm/lodash@4.17.21");
+    store.get("pkg:npm/lodash@4.17.21", countingTest());
+
+    assertThat(tests.get()).isEqualTo(2);
+  }
+
+  @Test
+  void get_whenDisabled_alwaysTests() {
+    PackageResultStore store = new PackageResultStore(0, Duration.ofHours(1));
+
+    store.get("pkg:npm/lodash@4.17.21", countingTest());
+    store.get("pkg:npm/lodash@4.17.21", countingTest());
+
+    assertThat(tests.get()).isEqualTo(2);
+  }
+
+  @Test
+  void get_doesNotStoreFailedTests() {
+    PackageResultStore store = new PackageResultStore(100, Duration.ofHours(1));
+
+    assertThrows(IllegalStateException.class, () -> store.get("pkg:npm/lodash@4.17.21", () -> {
+      throw new IllegalStateException("Snyk API unavailable");
+    }));
+    store.get("pkg:npm/lodash@4.17.21", countingTest());
+
+    assertThat(tests.get()).isEqualTo(1);
+  }
+
+  private Supplier<TestResult> countingTest() {
+    return () -> {
+      tests.incrementAndGet();
+      return new TestResult(IssueSummary.from(Stream.empty()), IssueSummary.from(Stream.empty()), URI.create("https://snyk.io/package/npm/lodash/4.17.21"));
+    };
+  }
+}
@@ -0,0 +1,152 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import io.snyk.plugins.artifactory.cache.AppendOnlyStore;
+import io.snyk.plugins.artifactory.configuration.properties.ArtifactProperties;
+import io.snyk.plugins.artifactory.configuration.properties.FakeArtifactProperties;
+import io.snyk.plugins.artifactory.model.Ignores;
+import io.snyk.plugins.artifactory.model.IssueSummary;
+import io.snyk.plugins.artifactory.model.MonitoredArtifact;
+import io.snyk.plugins.artifactory.model.TestResult;
+import io.snyk.sdk.api.ResponseValidator;
+import io.snyk.sdk.model.Severity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static io.snyk.plugins.artifactory.configuration.properties.ArtifactProperty.ISSUE_VULNERABILITIES_FORCE_DOWNLOAD;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentArtifactResolverTest {
+
+  @TempDir
+  Path directory;
+
+  ArtifactProperties properties;
+
+  AtomicInteger propertyReads;
+
+  ArtifactResolver countingResolver;
+
+  @BeforeEach
+  void setUp() {
+    properties = new FakeArtifactProperties("npm-remote:lodash/-/lodash-4.17.21.tgz");
+    propertyReads = new AtomicInteger();
+    countingResolver = (props, fetch) -> {
+      propertyReads.incrementAndGet();
+      return new ReadOnlyArtifactResolver().get(props, fetch);
+    };
+  }
+
+  @Test
+  void get_usesStoredResultAfterReopening() throws IOException {
+    anArtifact(ZonedDateTime.now()).write(properties);
+    try (PersistentArtifactResolver resolver = resolver(ChronoUnit.FOREVER.getDuration())) {
+      resolver.get(properties, Optional::empty);
+    }
+
+    try (PersistentArtifactResolver resolver = resolver(ChronoUnit.FOREVER.getDuration())) {
+      Optional<MonitoredArtifact> artifact = resolver.get(properties, Optional::empty);
+
+      assertThat(artifact).isPresent();
+      assertThat(artifact.get().getTestResult().getVulnSummary().getCountAtOrAbove(Severity.HIGH)).isEqualTo(1);
+    }
+    assertThat(propertyReads.get()).isEqualTo(1);
+  }
+
+  @Test
+  void get_readsIgnoresFromProperties() throws IOException {
+    anArtifact(ZonedDateTime.now()).write(properties);
+    try (PersistentArtifactResolver resolver = resolver(ChronoUnit.FOREVER.getDuration())) {
+      resolver.get(properties, Optional::empty);
+      properties.set(ISSUE_VULNERABILITIES_FORCE_DOWNLOAD, "true");
+
+      Optional<MonitoredArtifact> artifact = resolver.get(properties, Optional::empty);
+
+      assertThat(artifact).isPresent();
+      assertThat(artifact.get().getIgnores().shouldIgnoreVulnIssues()).isTrue();
+    }
+  }
+
+  @Test
+  void get_whenStoredResultIsTooOld_delegates() throws IOException {
+    anArtifact(ZonedDateTime.now().minusHours(2)).write(properties);
+    try (PersistentArtifactResolver resolver = resolver(Duration.ofHours(1))) {
+      resolver.get(properties, Optional::empty);
+      resolver.get(properties, Optional::empty);
+    }
+
+    assertThat(propertyReads.get()).isEqualTo(2);
+  }
+
+  @Test
+  void get_afterInvalidate_delegates() throws IOException {
+    anArtifact(ZonedDateTime.now()).write(properties);
+    try (PersistentArtifactResolver resolver = resolver(ChronoUnit.FOREVER.getDuration())) {
+      resolver.get(properties, Optional::empty);
+      resolver.invalidate(properties.getArtifactPath());
+      resolver.get(properties, Optional::empty);
+    }
+
+    assertThat(propertyReads.get()).isEqualTo(2);
+  }
+
+  @Test
+  void encodeAndDecode_roundTrip() throws IOException {
+    TestResult testResult = anArtifact(ZonedDateTime.now()).getTestResult();
+
+    byte[] encoded = PersistentArtifactResolver.encode(testResult);
+
+    assertThat(PersistentArtifactResolver.decode("path", encoded)).contains(testResult);
+    assertThat(PersistentArtifactResolver.decode("path", new byte[]{1, 2, 3})).isEmpty();
+  }
+
+  @Test
+  void encodeAndDecode_keepsResponseValidator() throws IOException {
+    TestResult testResult = anArtifact(ZonedDateTime.now()).getTestResult()
+      .withValidator(ResponseValidator.of("W/\"abc\"", "Wed, 21 Oct 2026 07:28:00 GMT"));
+
+    byte[] encoded = PersistentArtifactResolver.encode(testResult);
+
+    assertThat(PersistentArtifactResolver.decode("path", encoded)).contains(testResult);
+  }
+
+  @Test
+  void decode_resultStoredWithoutValidator() throws IOException {
+    TestResult testResult = anArtifact(ZonedDateTime.now()).getTestResult();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeUTF(testResult.getTimestamp().toString());
+      out.writeUTF(testResult.getVulnSummary().toString());
+      out.writeUTF(testResult.getLicenseSummary().toString());
+      out.writeUTF(testResult.getDetailsUrl().toString());
+    }
+
+    assertThat(PersistentArtifactResolver.decode("path", bytes.toByteArray())).contains(testResult);
+  }
+
+  private PersistentArtifactResolver resolver(Duration maxAge) throws IOException {
+    return new PersistentArtifactResolver(countingResolver, new AppendOnlyStore(directory), maxAge);
+  }
+
+  private MonitoredArtifact anArtifact(ZonedDateTime timestamp) {
+    TestResult testResult = new TestResult(
+      timestamp,
+      IssueSummary.from(Stream.of(Severity.HIGH)),
+      IssueSummary.from(Stream.empty()),
+      URI.create("https://snyk.io/package/npm/lodash/4.17.21")
+    );
+    return new MonitoredArtifact(properties.getArtifactPath(), testResult, new Ignores());
+  }
+}
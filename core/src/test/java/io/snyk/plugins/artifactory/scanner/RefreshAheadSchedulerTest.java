@@ -0,0 +1,138 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import org.artifactory.repo.RepoPath;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshAheadSchedulerTest {
+
+  MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+  List<String> refreshed = new CopyOnWriteArrayList<>();
+
+  @Test
+  void tick_refreshesArtifactsCloseToTheirNextTest() {
+    RefreshAheadScheduler scheduler = scheduler(10);
+    scheduler.recordDownload(repoPath("npm:due"), now().minusHours(150));
+    scheduler.recordDownload(repoPath("npm:fresh"), now().minusHours(10));
+
+    scheduler.tick();
+
+    assertThat(refreshed).containsExactly("npm:due");
+  }
+
+  @Test
+  void tick_refreshesAtMostMaxPerTickOldestFirst() {
+    RefreshAheadScheduler scheduler = scheduler(2);
+    scheduler.recordDownload(repoPath("npm:a"), now().minusHours(160));
+    scheduler.recordDownload(repoPath("npm:b"), now().minusHours(170));
+    scheduler.recordDownload(repoPath("npm:c"), now().minusHours(165));
+
+    scheduler.tick();
+
+    assertThat(refreshed).containsExactly("npm:b", "npm:c");
+  }
+
+  @Test
+  void tick_doesNotRefreshAgainUntilDue() {
+    RefreshAheadScheduler scheduler = scheduler(10);
+    scheduler.recordDownload(repoPath("npm:due"), now().minusHours(150));
+
+    scheduler.tick();
+    scheduler.tick();
+
+    assertThat(refreshed).containsExactly("npm:due");
+  }
+
+  @Test
+  void tick_forgetsArtifactsNotDownloadedForAWholeTestPeriod() {
+    RefreshAheadScheduler scheduler = scheduler(10);
+    scheduler.recordDownload(repoPath("npm:cold"), now().minusHours(100));
+
+    clock.advance(Duration.ofHours(169));
+    scheduler.tick();
+
+    assertThat(refreshed).isEmpty();
+    assertThat(scheduler.trackedCount()).isZero();
+  }
+
+  @Test
+  void tick_forgetsArtifactsThatFailToRefresh() {
+    RefreshAheadScheduler scheduler = new RefreshAheadScheduler(Duration.ofHours(168), Duration.ofHours(24), 10, 100, clock, repoPath -> {
+      throw new IllegalStateException("Snyk API unavailable");
+    });
+    scheduler.recordDownload(repoPath("npm:due"), now().minusHours(150));
+
+    scheduler.tick();
+
+    assertThat(scheduler.trackedCount()).isZero();
+  }
+
+  @Test
+  void recordDownload_stopsTrackingNewArtifactsWhenFull() {
+    RefreshAheadScheduler scheduler = new RefreshAheadScheduler(Duration.ofHours(168), Duration.ofHours(24), 10, 1, clock, this::refresh);
+
+    scheduler.recordDownload(repoPath("npm:a"), now());
+    scheduler.recordDownload(repoPath("npm:b"), now());
+
+    assertThat(scheduler.trackedCount()).isEqualTo(1);
+  }
+
+  private RefreshAheadScheduler scheduler(int maxPerTick) {
+    return new RefreshAheadScheduler(Duration.ofHours(168), Duration.ofHours(24), maxPerTick, 100, clock, this::refresh);
+  }
+
+  private Optional<ZonedDateTime> refresh(RepoPath repoPath) {
+    refreshed.add(repoPath.toString());
+    return Optional.of(now());
+  }
+
+  private ZonedDateTime now() {
+    return ZonedDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+  }
+
+  private static RepoPath repoPath(String path) {
+    RepoPath repoPath = mock(RepoPath.class);
+    when(repoPath.toString()).thenReturn(path);
+    return repoPath;
+  }
+
+  private static class MutableClock extends Clock {
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
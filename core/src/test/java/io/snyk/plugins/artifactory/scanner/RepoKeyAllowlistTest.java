@@ -0,0 +1,107 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RepoKeyAllowlistTest {
+
+  @Test
+  void substrings_matchAnywhereInKey() {
+    RepoKeyAllowlist allowlist = RepoKeyAllowlist.parse("-local,cache,he,she,hers");
+
+    assertTrue(allowlist.matches("npm-local"));
+    assertTrue(allowlist.matches("maven-cache-remote"));
+    assertTrue(allowlist.matches("ushers"));
+    assertFalse(allowlist.matches("npm-remote"));
+  }
+
+  @Test
+  void substrings_overlappingPrefixes() {
+    RepoKeyAllowlist allowlist = RepoKeyAllowlist.of(List.of("abcd", "bce"));
+
+    assertTrue(allowlist.matches("xabce"));
+    assertFalse(allowlist.matches("xabcx"));
+  }
+
+  @Test
+  void substrings_agreeWithContains() {
+    Random random = new Random(42);
+    for (int round = 0; round < 200; round++) {
+      List<String> substrings = new ArrayList<>();
+      for (int i = 0; i < 1 + random.nextInt(20); i++) {
+        substrings.add(randomKey(random, 1 + random.nextInt(4)));
+      }
+      RepoKeyAllowlist allowlist = RepoKeyAllowlist.of(substrings);
+      for (int i = 0; i < 20; i++) {
+        String key = randomKey(random, random.nextInt(12));
+        assertEquals(substrings.stream().anyMatch(key::contains), allowlist.matches(key), substrings + " / " + key);
+      }
+    }
+  }
+
+  @Test
+  void glob_matchesWholeKey() {
+    RepoKeyAllowlist allowlist = RepoKeyAllowlist.parse("glob:npm-*-remote,glob:pypi-?");
+
+    assertTrue(allowlist.matches("npm-team-remote"));
+    assertTrue(allowlist.matches("pypi-1"));
+    assertFalse(allowlist.matches("npm-team-remote-cache"));
+    assertFalse(allowlist.matches("pypi-12"));
+  }
+
+  @Test
+  void glob_quotesOtherCharacters() {
+    RepoKeyAllowlist allowlist = RepoKeyAllowlist.parse("glob:libs.release*");
+
+    assertTrue(allowlist.matches("libs.release-local"));
+    assertFalse(allowlist.matches("libsXrelease-local"));
+  }
+
+  @Test
+  void regex_isFoundInKey() {
+    RepoKeyAllowlist allowlist = RepoKeyAllowlist.parse("regex:^maven-(central|google)$,regex:[0-9]{3}");
+
+    assertTrue(allowlist.matches("maven-google"));
+    assertTrue(allowlist.matches("repo-123"));
+    assertFalse(allowlist.matches("maven-google-cache"));
+  }
+
+  @Test
+  void regex_backreferencesKeepTheirOwnGroups() {
+    RepoKeyAllowlist allowlist = RepoKeyAllowlist.parse("regex:^(npm|pypi)-remote$,regex:^(\\w+)-\\1$");
+
+    assertTrue(allowlist.matches("npm-remote"));
+    assertTrue(allowlist.matches("cache-cache"));
+    assertFalse(allowlist.matches("cache-remote"));
+  }
+
+  @Test
+  void regex_invalid_failsOnParse() {
+    assertThrows(PatternSyntaxException.class, () -> RepoKeyAllowlist.parse("regex:maven-("));
+  }
+
+  @Test
+  void empty_neverMatches() {
+    RepoKeyAllowlist allowlist = RepoKeyAllowlist.parse(" , ");
+
+    assertTrue(allowlist.isEmpty());
+    assertFalse(allowlist.matches("anything"));
+  }
+
+  private static String randomKey(Random random, int length) {
+    StringBuilder key = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      key.append("abc-".charAt(random.nextInt(4)));
+    }
+    return key.toString();
+  }
+}
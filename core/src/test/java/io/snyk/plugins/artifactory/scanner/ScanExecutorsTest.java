@@ -0,0 +1,63 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScanExecutorsTest {
+
+  @Test
+  void boundedExecutor_rejectsTasksBeyondCapacityUntilOneCompletes() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(2);
+    ExecutorService executor = new ScanExecutors.BoundedExecutor(Executors.newCachedThreadPool(), 1);
+
+    executor.execute(() -> {
+      awaitQuietly(release);
+      done.countDown();
+    });
+
+    assertThatThrownBy(() -> executor.execute(done::countDown)).isInstanceOf(RejectedExecutionException.class);
+    release.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(done.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void create_withoutVirtualThreads_usesFixedPool() {
+    ExecutorService executor = ScanExecutors.create("snyk-test", 2, 10, false);
+
+    assertThat(executor).isInstanceOf(ThreadPoolExecutor.class);
+    assertThat(((ThreadPoolExecutor) executor).getMaximumPoolSize()).isEqualTo(2);
+    executor.shutdown();
+  }
+
+  @Test
+  void create_withVirtualThreads_fallsBackToFixedPoolWhenUnsupported() {
+    ExecutorService executor = ScanExecutors.create("snyk-test", 2, 10, true);
+
+    if (ScanExecutors.virtualThreadsSupported()) {
+      assertThat(executor).isInstanceOf(ScanExecutors.BoundedExecutor.class);
+    } else {
+      assertThat(executor).isInstanceOf(ThreadPoolExecutor.class);
+    }
+    executor.shutdown();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.Test;
 
 import java.net.URI;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.*;
@@ -43,6 +44,21 @@ class ScannerResolverTest {
     assertThat(resolver.getFor(MAVEN)).isEmpty();
   }
 
+  @Test
+  void scannerEnablement_isReadOnce() {
+    AtomicInteger reads = new AtomicInteger();
+    ScannerResolver resolver = new ScannerResolver((param) -> {
+      reads.incrementAndGet();
+      return "true";
+    }).register(MAVEN, new DummyScanner());
+    int readsAtSetup = reads.get();
+
+    resolver.getFor(MAVEN);
+    resolver.getFor(MAVEN);
+
+    assertThat(reads.get()).isEqualTo(readsAtSetup);
+  }
+
   @Test
   void scannerNotRegistered() {
     ScannerResolver resolver = new ScannerResolver((param) -> "true");
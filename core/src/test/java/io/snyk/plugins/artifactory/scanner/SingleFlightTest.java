@@ -0,0 +1,91 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+  @Test
+  void concurrentCallsForSameKey_runSupplierOnce() throws Exception {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> singleFlight.run("npm:lodash/-/lodash-4.17.21.tgz", () -> {
+          executions.incrementAndGet();
+          await(release);
+          return "result";
+        })));
+      }
+
+      while (singleFlight.inFlightCount() == 0) {
+        Thread.onSpinWait();
+      }
+      Thread.sleep(100);
+      release.countDown();
+
+      for (Future<String> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+      }
+      assertThat(executions.get()).isEqualTo(1);
+      assertThat(singleFlight.inFlightCount()).isZero();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void waitersReceiveTheSameFailure() throws Exception {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.run("key", () -> {
+      started.countDown();
+      await(release);
+      throw new IllegalStateException("Snyk is down");
+    }));
+    started.await();
+    CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.run("key", () -> "not expected"));
+    Thread.sleep(100);
+    release.countDown();
+
+    assertThatThrownBy(leader::join).hasCauseInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(follower::join).hasRootCauseMessage("Snyk is down");
+  }
+
+  @Test
+  void sequentialCallsRunAgain() {
+    SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    AtomicInteger executions = new AtomicInteger();
+
+    singleFlight.run("key", executions::incrementAndGet);
+    singleFlight.run("key", executions::incrementAndGet);
+
+    assertThat(executions.get()).isEqualTo(2);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package io.snyk.plugins.artifactory.scanner;
+
+import org.artifactory.repo.RepoPath;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestQueueTest {
+
+  CountDownLatch workerStarted = new CountDownLatch(1);
+  CountDownLatch releaseWorker = new CountDownLatch(1);
+  List<String> tested = new CopyOnWriteArrayList<>();
+  List<String> testedOn = new CopyOnWriteArrayList<>();
+
+  @Test
+  void submit_returnsBeforeTestCompletes() throws InterruptedException {
+    TestQueue queue = new TestQueue("test", 1, 10, TestQueue.OverflowPolicy.DROP, blockingTest());
+
+    queue.submit(repoPath("npm:busy/-/busy-1.0.0.tgz"));
+
+    assertThat(workerStarted.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(tested).isEmpty();
+    releaseWorker.countDown();
+    queue.close(Duration.ofSeconds(1));
+    assertThat(tested).containsExactly("npm:busy/-/busy-1.0.0.tgz");
+  }
+
+  @Test
+  void submit_coalescesArtifactsAlreadyQueued() throws InterruptedException {
+    TestQueue queue = new TestQueue("test", 1, 10, TestQueue.OverflowPolicy.DROP, blockingTest());
+    queue.submit(repoPath("npm:busy/-/busy-1.0.0.tgz"));
+    assertThat(workerStarted.await(1, TimeUnit.SECONDS)).isTrue();
+
+    queue.submit(repoPath("npm:lodash/-/lodash-4.17.21.tgz"));
+    queue.submit(repoPath("npm:lodash/-/lodash-4.17.21.tgz"));
+
+    assertThat(queue.size()).isEqualTo(1);
+    releaseWorker.countDown();
+    queue.close(Duration.ofSeconds(1));
+    assertThat(tested).containsExactly("npm:busy/-/busy-1.0.0.tgz", "npm:lodash/-/lodash-4.17.21.tgz");
+  }
+
+  @Test
+  void submit_whenFull_dropsWithDropPolicy() throws InterruptedException {
+    TestQueue queue = new TestQueue("test", 1, 1, TestQueue.OverflowPolicy.DROP, blockingTest());
+    queue.submit(repoPath("npm:busy/-/busy-1.0.0.tgz"));
+    assertThat(workerStarted.await(1, TimeUnit.SECONDS)).isTrue();
+
+    queue.submit(repoPath("npm:queued/-/queued-1.0.0.tgz"));
+    queue.submit(repoPath("npm:dropped/-/dropped-1.0.0.tgz"));
+
+    assertThat(queue.droppedCount()).isEqualTo(1);
+    releaseWorker.countDown();
+    queue.close(Duration.ofSeconds(1));
+    assertThat(tested).doesNotContain("npm:dropped/-/dropped-1.0.0.tgz");
+  }
+
+  @Test
+  void submit_whenFull_testsInlineWithInlinePolicy() throws InterruptedException {
+    TestQueue queue = new TestQueue("test", 1, 1, TestQueue.OverflowPolicy.INLINE, blockingTest());
+    queue.submit(repoPath("npm:busy/-/busy-1.0.0.tgz"));
+    assertThat(workerStarted.await(1, TimeUnit.SECONDS)).isTrue();
+
+    queue.submit(repoPath("npm:queued/-/queued-1.0.0.tgz"));
+    queue.submit(repoPath("npm:inline/-/inline-1.0.0.tgz"));
+
+    assertThat(tested).containsExactly("npm:inline/-/inline-1.0.0.tgz");
+    assertThat(testedOn).containsExactly(Thread.currentThread().getName());
+    releaseWorker.countDown();
+    queue.close(Duration.ofSeconds(1));
+    assertThat(queue.droppedCount()).isZero();
+  }
+
+  @Test
+  void virtualThreads_runTestsInBackground() throws InterruptedException {
+    TestQueue queue = new TestQueue("test", 1, 10, TestQueue.OverflowPolicy.DROP, true, blockingTest());
+
+    queue.submit(repoPath("npm:busy/-/busy-1.0.0.tgz"));
+    queue.submit(repoPath("npm:lodash/-/lodash-4.17.21.tgz"));
+
+    assertThat(workerStarted.await(1, TimeUnit.SECONDS)).isTrue();
+    releaseWorker.countDown();
+    queue.close(Duration.ofSeconds(1));
+    assertThat(tested).containsExactlyInAnyOrder("npm:busy/-/busy-1.0.0.tgz", "npm:lodash/-/lodash-4.17.21.tgz");
+    assertThat(testedOn).allMatch(name -> name.startsWith("test-"));
+  }
+
+  @Test
+  void overflowPolicy_parsesConfigurationValues() {
+    assertThat(TestQueue.OverflowPolicy.parse("drop")).isEqualTo(TestQueue.OverflowPolicy.DROP);
+    assertThat(TestQueue.OverflowPolicy.parse(" Inline ")).isEqualTo(TestQueue.OverflowPolicy.INLINE);
+  }
+
+  private Consumer<RepoPath> blockingTest() {
+    return repoPath -> {
+      if (repoPath.toString().startsWith("npm:busy")) {
+        workerStarted.countDown();
+        try {
+          releaseWorker.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      tested.add(repoPath.toString());
+      testedOn.add(Thread.currentThread().getName());
+    };
+  }
+
+  private static RepoPath repoPath(String path) {
+    RepoPath repoPath = mock(RepoPath.class);
+    when(repoPath.toString()).thenReturn(path);
+    return repoPath;
+  }
+}
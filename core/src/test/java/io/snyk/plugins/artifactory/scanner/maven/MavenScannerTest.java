@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import javax.annotation.Nonnull;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import static io.snyk.plugins.artifactory.configuration.PluginConfiguration.API_ORGANIZATION;
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +47,32 @@ public class MavenScannerTest {
     );
   }
 
+  @Test
+  void shouldTestMavenPackageAsynchronously() throws Exception {
+    SnykConfig config = SnykConfigForTests.withDefaults();
+    Properties properties = new Properties();
+    @Nonnull String org = System.getenv("TEST_SNYK_ORG");
+    Assertions.assertNotNull(org, "must not be null for test");
+
+    properties.put(API_ORGANIZATION.propertyKey(), org);
+    ConfigurationModule configurationModule = new ConfigurationModule(properties);
+
+    SnykClient snykClient = new SnykClient(config);
+    MavenScanner scanner = new MavenScanner(configurationModule, snykClient);
+
+    RepoPath repoPath = mock(RepoPath.class);
+    FileLayoutInfo fileLayoutInfo = mock(FileLayoutInfo.class);
+    when(fileLayoutInfo.getOrganization()).thenReturn("com.fasterxml.jackson.core");
+    when(fileLayoutInfo.getModule()).thenReturn("jackson-databind");
+    when(fileLayoutInfo.getBaseRevision()).thenReturn("2.9.8");
+
+    TestResult result = scanner.scanAsync(fileLayoutInfo, repoPath).get(30, TimeUnit.SECONDS);
+    assertTrue(result.getVulnSummary().getTotalCount() > 0);
+    assertEquals("https://security.snyk.io/package/maven/com.fasterxml.jackson.core%3Ajackson-databind/2.9.8",
+      result.getDetailsUrl().toString()
+    );
+  }
+
   @Test
   void shouldNotTestMavenPackage_WhenGroupIDNotProvided() throws Exception {
     SnykConfig config = SnykConfigForTests.withDefaults();
@@ -58,6 +58,25 @@ class NpmPurlScannerTest {
     assertThat(result.getDetailsUrl().toString()).isEqualTo("https://security.snyk.io/package/npm/%40snyk%2Fprotect/1.675.0");
   }
 
+  @Test
+  void whenAValidNpmPackage_scanAsync() {
+    when(repoPath.toString()).thenReturn("npm:lodash/-/lodash-4.17.15.tgz");
+
+    TestResult result = scanner.scanAsync(fileLayoutInfo, repoPath).join();
+    assertThat(result.getVulnSummary().getTotalCount()).isGreaterThanOrEqualTo(5)
+      .withFailMessage("As of 2025-10-03 lodash@4.17.15 should have at least 5 vulns");
+    assertThat(result.getDetailsUrl().toString()).isEqualTo("https://security.snyk.io/package/npm/lodash/4.17.15");
+  }
+
+  @Test
+  void whenInvalidPackagePath_scanAsyncThrowsBeforeSendingRequest() {
+    when(repoPath.toString()).thenReturn("invalid-path");
+
+    assertThatThrownBy(() -> scanner.scanAsync(fileLayoutInfo, repoPath))
+      .isExactlyInstanceOf(CannotScanException.class)
+      .hasMessageContaining("Package details not provided");
+  }
+
   @Test
   void whenInvalidPackagePath() {
     when(repoPath.toString()).thenReturn("invalid-path");
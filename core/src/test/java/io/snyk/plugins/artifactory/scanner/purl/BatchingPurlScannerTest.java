@@ -0,0 +1,148 @@
+package io.snyk.plugins.artifactory.scanner.purl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.snyk.plugins.artifactory.exception.SnykAPIFailureException;
+import io.snyk.plugins.artifactory.model.TestResult;
+import io.snyk.sdk.api.IssueDocument;
+import io.snyk.sdk.api.SnykClient;
+import io.snyk.sdk.api.SnykResult;
+import io.snyk.sdk.model.Severity;
+import io.snyk.sdk.model.SeverityCounts;
+import io.snyk.sdk.model.purl.IssueAttribute;
+import io.snyk.sdk.model.purl.IssueCoordinate;
+import io.snyk.sdk.model.purl.IssueRepresentation;
+import io.snyk.sdk.model.purl.PackageRepresentation;
+import io.snyk.sdk.model.purl.PackagesIssues;
+import io.snyk.sdk.model.purl.PurlIssue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchingPurlScannerTest {
+
+  SnykClient snykClient;
+
+  BatchingPurlScanner scanner;
+
+  @BeforeEach
+  void setUp() {
+    snykClient = mock(SnykClient.class);
+    scanner = new BatchingPurlScanner(snykClient, "org-id", Duration.ofSeconds(10), 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scanner.close();
+  }
+
+  @Test
+  void fullBatch_isSentInOneRequestAndFannedOut() throws Exception {
+    PackagesIssues response = new PackagesIssues();
+    response.purlIssues = List.of(issue(Severity.HIGH, "pkg:npm/lodash@4.17.15"));
+    when(snykClient.postAsync(eq(PackagesIssues.class), any()))
+      .thenReturn(CompletableFuture.completedFuture(new SnykResult<>(200, response, "", null)));
+
+    CompletableFuture<TestResult> lodash = scanner.scanAsync("pkg:npm/lodash@4.17.15", "https://security.snyk.io/package/npm/lodash/4.17.15");
+    CompletableFuture<TestResult> leftPad = scanner.scanAsync("pkg:npm/left-pad@1.3.0", "https://security.snyk.io/package/npm/left-pad/1.3.0");
+
+    assertThat(lodash.get(1, TimeUnit.SECONDS).getVulnSummary().getCountAtOrAbove(Severity.HIGH)).isEqualTo(1);
+    assertThat(lodash.get().getDetailsUrl().toString()).isEqualTo("https://security.snyk.io/package/npm/lodash/4.17.15");
+    assertThat(leftPad.get(1, TimeUnit.SECONDS).getVulnSummary().getTotalCount()).isZero();
+    assertThat(leftPad.get().getDetailsUrl().toString()).isEqualTo("https://security.snyk.io/package/npm/left-pad/1.3.0");
+    verify(snykClient, times(1)).postAsync(eq(PackagesIssues.class), any());
+  }
+
+  @Test
+  void samePurl_isRequestedOnce() throws Exception {
+    when(snykClient.postAsync(eq(PackagesIssues.class), any()))
+      .thenReturn(CompletableFuture.completedFuture(new SnykResult<>(200, new PackagesIssues(), "", null)));
+
+    CompletableFuture<TestResult> first = scanner.scanAsync("pkg:npm/lodash@4.17.15", "https://security.snyk.io/package/npm/lodash/4.17.15");
+    CompletableFuture<TestResult> second = scanner.scanAsync("pkg:npm/lodash@4.17.15", "https://security.snyk.io/package/npm/lodash/4.17.15");
+    scanner.close();
+
+    assertThat(first.get(1, TimeUnit.SECONDS)).isNotNull();
+    assertThat(second.get(1, TimeUnit.SECONDS)).isNotNull();
+    verify(snykClient, times(1)).postAsync(eq(PackagesIssues.class), any());
+  }
+
+  @Test
+  void failedBatch_failsEveryCaller() {
+    when(snykClient.postAsync(eq(PackagesIssues.class), any()))
+      .thenReturn(CompletableFuture.failedFuture(new java.io.IOException("connection reset")));
+
+    CompletableFuture<TestResult> lodash = scanner.scanAsync("pkg:npm/lodash@4.17.15", "https://security.snyk.io/package/npm/lodash/4.17.15");
+    CompletableFuture<TestResult> leftPad = scanner.scanAsync("pkg:npm/left-pad@1.3.0", "https://security.snyk.io/package/npm/left-pad/1.3.0");
+
+    assertThatThrownBy(lodash::join).hasCauseInstanceOf(SnykAPIFailureException.class);
+    assertThatThrownBy(leftPad::join).hasCauseInstanceOf(SnykAPIFailureException.class);
+  }
+
+  @Test
+  void errorForOnePurl_onlyTestsThatPurlIndividually() throws Exception {
+    PackagesIssues response = new PackagesIssues();
+    response.meta = new PackagesIssues.Meta();
+    response.meta.errors = List.of(new ObjectMapper().readTree("{\"detail\":\"Package not found\",\"meta\":{\"purl\":\"pkg:npm/lodash@4.17.15\"}}"));
+    when(snykClient.postAsync(eq(PackagesIssues.class), any()))
+      .thenReturn(CompletableFuture.completedFuture(new SnykResult<>(200, response, "", null)));
+    SeverityCounts counts = new SeverityCounts();
+    counts.addVulnerability(Severity.HIGH);
+    when(snykClient.getSeverityCountsAsync(eq(IssueDocument.PURL_ISSUES), any()))
+      .thenReturn(CompletableFuture.completedFuture(new SnykResult<>(200, counts, "", null)));
+
+    CompletableFuture<TestResult> older = scanner.scanAsync("pkg:npm/lodash@4.17.1", "https://security.snyk.io/package/npm/lodash/4.17.1");
+    CompletableFuture<TestResult> failed = scanner.scanAsync("pkg:npm/lodash@4.17.15", "https://security.snyk.io/package/npm/lodash/4.17.15");
+
+    assertThat(older.get(1, TimeUnit.SECONDS).getVulnSummary().getTotalCount()).isZero();
+    assertThat(failed.get(1, TimeUnit.SECONDS).getVulnSummary().getCountAtOrAbove(Severity.HIGH)).isEqualTo(1);
+    verify(snykClient, times(1)).getSeverityCountsAsync(eq(IssueDocument.PURL_ISSUES), any());
+  }
+
+  @Test
+  void purlAddedAfterFullBatch_waitsForItsOwnWindow() throws Exception {
+    scanner.close();
+    scanner = new BatchingPurlScanner(snykClient, "org-id", Duration.ofSeconds(1), 2);
+    when(snykClient.postAsync(eq(PackagesIssues.class), any()))
+      .thenReturn(CompletableFuture.completedFuture(new SnykResult<>(200, new PackagesIssues(), "", null)));
+
+    scanner.scanAsync("pkg:npm/lodash@4.17.15", "https://security.snyk.io/package/npm/lodash/4.17.15");
+    Thread.sleep(500);
+    scanner.scanAsync("pkg:npm/left-pad@1.3.0", "https://security.snyk.io/package/npm/left-pad/1.3.0");
+    CompletableFuture<TestResult> next = scanner.scanAsync("pkg:npm/react@18.2.0", "https://security.snyk.io/package/npm/react/18.2.0");
+
+    Thread.sleep(700);
+    verify(snykClient, times(1)).postAsync(eq(PackagesIssues.class), any());
+    assertThat(next.get(2, TimeUnit.SECONDS)).isNotNull();
+    verify(snykClient, times(2)).postAsync(eq(PackagesIssues.class), any());
+  }
+
+  private static PurlIssue issue(Severity severity, String purl) {
+    PackageRepresentation pckg = new PackageRepresentation();
+    pckg.url = purl;
+    IssueRepresentation representation = new IssueRepresentation();
+    representation.pckg = pckg;
+    IssueCoordinate coordinate = new IssueCoordinate();
+    coordinate.representations = List.of(representation);
+
+    IssueAttribute attribute = new IssueAttribute();
+    attribute.severity = severity;
+    attribute.coordinates = List.of(coordinate);
+    PurlIssue issue = new PurlIssue();
+    issue.attribute = attribute;
+    return issue;
+  }
+}
@@ -1,5 +1,6 @@
 package io.snyk.sdk;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 public class SnykConfig {
@@ -11,6 +12,20 @@ public class SnykConfig {
   public final String httpProxyHost;
   public final Integer httpProxyPort;
   public final Duration timeout;
+  public final double rateLimitPerSecond;
+  public final int rateLimitBurst;
+  public final int maxConcurrentRequests;
+  public final int maxRetries;
+  public final Duration retryBackoff;
+  public final Duration retryMaxBackoff;
+  public final double retryBudgetRatio;
+  public final boolean circuitBreakerEnabled;
+  public final double circuitBreakerFailureRate;
+  public final double circuitBreakerSlowCallRate;
+  public final Duration circuitBreakerSlowCallDuration;
+  public final Duration circuitBreakerOpenDuration;
+  public final HttpClient.Version httpVersion;
+  public final boolean compression;
 
   private SnykConfig(
     String baseUrl,
@@ -20,7 +35,21 @@ public class SnykConfig {
     String sslCertificatePath,
     String httpProxyHost,
     Integer httpProxyPort,
-    Duration timeout
+    Duration timeout,
+    double rateLimitPerSecond,
+    int rateLimitBurst,
+    int maxConcurrentRequests,
+    int maxRetries,
+    Duration retryBackoff,
+    Duration retryMaxBackoff,
+    double retryBudgetRatio,
+    boolean circuitBreakerEnabled,
+    double circuitBreakerFailureRate,
+    double circuitBreakerSlowCallRate,
+    Duration circuitBreakerSlowCallDuration,
+    Duration circuitBreakerOpenDuration,
+    HttpClient.Version httpVersion,
+    boolean compression
   ) {
     this.baseUrl = baseUrl;
     this.token = token;
@@ -30,6 +59,20 @@ public class SnykConfig {
     this.httpProxyHost = httpProxyHost;
     this.httpProxyPort = httpProxyPort;
     this.timeout = timeout;
+    this.rateLimitPerSecond = rateLimitPerSecond;
+    this.rateLimitBurst = rateLimitBurst;
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.maxRetries = maxRetries;
+    this.retryBackoff = retryBackoff;
+    this.retryMaxBackoff = retryMaxBackoff;
+    this.retryBudgetRatio = retryBudgetRatio;
+    this.circuitBreakerEnabled = circuitBreakerEnabled;
+    this.circuitBreakerFailureRate = circuitBreakerFailureRate;
+    this.circuitBreakerSlowCallRate = circuitBreakerSlowCallRate;
+    this.circuitBreakerSlowCallDuration = circuitBreakerSlowCallDuration;
+    this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+    this.httpVersion = httpVersion;
+    this.compression = compression;
   }
 
   public static Builder newBuilder() {
@@ -49,6 +92,20 @@ public class SnykConfig {
     private String httpProxyHost = "";
     private Integer httpProxyPort = 8080;
     private Duration timeout = Duration.ofMillis(60_000);
+    private double rateLimitPerSecond = 0;
+    private int rateLimitBurst = 10;
+    private int maxConcurrentRequests = 64;
+    private int maxRetries = 2;
+    private Duration retryBackoff = Duration.ofMillis(500);
+    private Duration retryMaxBackoff = Duration.ofSeconds(10);
+    private double retryBudgetRatio = 0.1;
+    private boolean circuitBreakerEnabled = true;
+    private double circuitBreakerFailureRate = 0.5;
+    private double circuitBreakerSlowCallRate = 0.8;
+    private Duration circuitBreakerSlowCallDuration = Duration.ofSeconds(10);
+    private Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
+    private HttpClient.Version httpVersion = HttpClient.Version.HTTP_2;
+    private boolean compression = true;
 
     private Builder() {
     }
@@ -93,6 +150,113 @@ public class SnykConfig {
       return this;
     }
 
+    /**
+     * Sustained number of requests per second sent to the Snyk API. {@code 0} disables the rate limit,
+     * leaving only the limits the API asks for with {@code Retry-After} and {@code X-RateLimit-*} headers.
+     */
+    public Builder setRateLimitPerSecond(double rateLimitPerSecond) {
+      this.rateLimitPerSecond = rateLimitPerSecond;
+      return this;
+    }
+
+    public Builder setRateLimitBurst(int rateLimitBurst) {
+      this.rateLimitBurst = rateLimitBurst;
+      return this;
+    }
+
+    /**
+     * Upper bound for requests in flight. The actual limit adapts below it when the API responds with
+     * {@code 429 Too Many Requests}. {@code 0} removes the upper bound.
+     */
+    public Builder setMaxConcurrentRequests(int maxConcurrentRequests) {
+      this.maxConcurrentRequests = maxConcurrentRequests;
+      return this;
+    }
+
+    /**
+     * How often a failed {@code GET} is retried. The timeout of each attempt is the configured timeout
+     * divided by the number of attempts. {@code 0} disables retries.
+     */
+    public Builder setMaxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Upper bound of the delay before the first retry. The bound doubles with every further retry,
+     * up to {@code retryMaxBackoff}, and the actual delay is picked at random below it.
+     */
+    public Builder setRetryBackoff(Duration retryBackoff) {
+      this.retryBackoff = retryBackoff;
+      return this;
+    }
+
+    public Builder setRetryMaxBackoff(Duration retryMaxBackoff) {
+      this.retryMaxBackoff = retryMaxBackoff;
+      return this;
+    }
+
+    /**
+     * Retries allowed per request sent, e.g. {@code 0.1} for at most one retry for every ten requests.
+     */
+    public Builder setRetryBudgetRatio(double retryBudgetRatio) {
+      this.retryBudgetRatio = retryBudgetRatio;
+      return this;
+    }
+
+    public Builder setCircuitBreakerEnabled(boolean circuitBreakerEnabled) {
+      this.circuitBreakerEnabled = circuitBreakerEnabled;
+      return this;
+    }
+
+    /**
+     * Share of failed requests, between 0 and 1, at which requests stop being sent for a while.
+     */
+    public Builder setCircuitBreakerFailureRate(double circuitBreakerFailureRate) {
+      this.circuitBreakerFailureRate = circuitBreakerFailureRate;
+      return this;
+    }
+
+    /**
+     * Share of requests slower than {@code circuitBreakerSlowCallDuration}, between 0 and 1, at which
+     * requests stop being sent for a while.
+     */
+    public Builder setCircuitBreakerSlowCallRate(double circuitBreakerSlowCallRate) {
+      this.circuitBreakerSlowCallRate = circuitBreakerSlowCallRate;
+      return this;
+    }
+
+    public Builder setCircuitBreakerSlowCallDuration(Duration circuitBreakerSlowCallDuration) {
+      this.circuitBreakerSlowCallDuration = circuitBreakerSlowCallDuration;
+      return this;
+    }
+
+    /**
+     * How long requests fail fast once the circuit opens, before a few probe requests are let through.
+     */
+    public Builder setCircuitBreakerOpenDuration(Duration circuitBreakerOpenDuration) {
+      this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+      return this;
+    }
+
+    /**
+     * Preferred HTTP version. With {@link HttpClient.Version#HTTP_2}, concurrent requests share a few
+     * multiplexed connections, and servers that do not support HTTP/2 are talked to with HTTP/1.1.
+     */
+    public Builder setHttpVersion(HttpClient.Version httpVersion) {
+      this.httpVersion = httpVersion;
+      return this;
+    }
+
+    /**
+     * Whether responses are requested with {@code Accept-Encoding: gzip, deflate}. Compressed responses are
+     * inflated as they stream in.
+     */
+    public Builder setCompression(boolean compression) {
+      this.compression = compression;
+      return this;
+    }
+
     public SnykConfig build() {
       return new SnykConfig(
         baseUrl,
@@ -102,7 +266,21 @@ public class SnykConfig {
         sslCertificatePath,
         httpProxyHost,
         httpProxyPort,
-        timeout
+        timeout,
+        rateLimitPerSecond,
+        rateLimitBurst,
+        maxConcurrentRequests,
+        maxRetries,
+        retryBackoff,
+        retryMaxBackoff,
+        retryBudgetRatio,
+        circuitBreakerEnabled,
+        circuitBreakerFailureRate,
+        circuitBreakerSlowCallRate,
+        circuitBreakerSlowCallDuration,
+        circuitBreakerOpenDuration,
+        httpVersion,
+        compression
       );
     }
   }
@@ -0,0 +1,229 @@
+package io.snyk.sdk.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Stops sending requests to the Snyk API while it is failing or too slow, so that callers fail fast
+ * instead of each waiting for the full timeout.
+ * <p>
+ * While {@link State#CLOSED}, the outcome of the last {@code windowSize} calls is recorded. Once at least
+ * {@code minimumCalls} are recorded and either the share of failed calls or the share of calls slower than
+ * {@code slowCallDuration} reaches its threshold, the circuit opens. While {@link State#OPEN}, calls are
+ * rejected for {@code openDuration}. After that the circuit is {@link State#HALF_OPEN} and lets
+ * {@code halfOpenProbes} calls through: if all of them succeed in time it closes, otherwise it opens again.
+ * <p>
+ * Connection failures, timeouts and {@code 5xx} responses count as failures. {@code 429 Too Many Requests}
+ * does not; it is handled by the {@link RateLimiter}. Outcomes of calls permitted before the last state change
+ * are ignored, so that a slow call started while closed is not taken for a half-open probe.
+ */
+public class CircuitBreaker {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final int windowSize;
+  private final int minimumCalls;
+  private final double failureRateThreshold;
+  private final double slowCallRateThreshold;
+  private final long slowCallNanos;
+  private final long openNanos;
+  private final int halfOpenProbes;
+
+  private final boolean[] failed;
+  private final boolean[] slow;
+  private int recorded;
+  private int next;
+  private int failedCount;
+  private int slowCount;
+
+  private State state = State.CLOSED;
+  /** Incremented on every state change, to tell which state a call was permitted in. */
+  private long generation;
+  private long openedAt;
+  private int probesStarted;
+  private int probesSucceeded;
+  private long rejectedCalls;
+  private long timesOpened;
+
+  /**
+   * @param failureRateThreshold  share of failed calls, between 0 and 1, that opens the circuit
+   * @param slowCallRateThreshold share of slow calls, between 0 and 1, that opens the circuit
+   */
+  public CircuitBreaker(
+    int windowSize,
+    int minimumCalls,
+    double failureRateThreshold,
+    double slowCallRateThreshold,
+    Duration slowCallDuration,
+    Duration openDuration,
+    int halfOpenProbes
+  ) {
+    this.windowSize = Math.max(1, windowSize);
+    this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowCallRateThreshold = slowCallRateThreshold;
+    this.slowCallNanos = slowCallDuration.toNanos();
+    this.openNanos = openDuration.toNanos();
+    this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    this.failed = new boolean[this.windowSize];
+    this.slow = new boolean[this.windowSize];
+  }
+
+  /**
+   * Whether a call would currently be rejected, without taking a half-open probe.
+   */
+  public synchronized boolean isRejecting() {
+    if (state == State.OPEN) {
+      return System.nanoTime() - openedAt < openNanos;
+    }
+    return state == State.HALF_OPEN && probesStarted >= halfOpenProbes;
+  }
+
+  /**
+   * Permits a call, which must then be reported with {@link #onResult}, or rejects it with an empty result.
+   */
+  public synchronized Optional<Permit> tryAcquire() {
+    if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+      transitionTo(State.HALF_OPEN);
+    }
+    if (state == State.OPEN || (state == State.HALF_OPEN && probesStarted >= halfOpenProbes)) {
+      rejectedCalls++;
+      return Optional.empty();
+    }
+    if (state == State.HALF_OPEN) {
+      probesStarted++;
+    }
+    return Optional.of(new Permit(generation));
+  }
+
+  /**
+   * Records the outcome of a permitted call. {@code response} is null when the call failed with {@code error}.
+   * The outcome is ignored when the state changed since the call was permitted.
+   */
+  public synchronized void onResult(Permit permit, long durationNanos, HttpResponse<?> response, Throwable error) {
+    if (permit.generation != generation) {
+      return;
+    }
+    boolean callFailed = error != null || response.statusCode() >= 500;
+    boolean callSlow = durationNanos >= slowCallNanos;
+
+    if (state == State.HALF_OPEN) {
+      if (callFailed || callSlow) {
+        LOG.warn("Snyk API probe {}, keeping circuit open", callFailed ? "failed" : "was slow");
+        transitionTo(State.OPEN);
+      } else if (++probesSucceeded >= halfOpenProbes) {
+        transitionTo(State.CLOSED);
+      }
+      return;
+    }
+    if (state == State.OPEN) {
+      return;
+    }
+
+    record(callFailed, callSlow);
+    if (recorded < minimumCalls) {
+      return;
+    }
+    double failureRate = (double) failedCount / recorded;
+    double slowCallRate = (double) slowCount / recorded;
+    if (failureRate >= failureRateThreshold || slowCallRate >= slowCallRateThreshold) {
+      LOG.warn(
+        "Snyk API failure rate {}%, slow call rate {}% over the last {} calls, failing fast for {}",
+        Math.round(failureRate * 100), Math.round(slowCallRate * 100), recorded, Duration.ofNanos(openNanos)
+      );
+      transitionTo(State.OPEN);
+    }
+  }
+
+  public synchronized Metrics getMetrics() {
+    return new Metrics(
+      state,
+      recorded == 0 ? 0 : (double) failedCount / recorded,
+      recorded == 0 ? 0 : (double) slowCount / recorded,
+      recorded,
+      rejectedCalls,
+      timesOpened
+    );
+  }
+
+  private void record(boolean callFailed, boolean callSlow) {
+    if (recorded == windowSize) {
+      failedCount -= failed[next] ? 1 : 0;
+      slowCount -= slow[next] ? 1 : 0;
+    } else {
+      recorded++;
+    }
+    failed[next] = callFailed;
+    slow[next] = callSlow;
+    failedCount += callFailed ? 1 : 0;
+    slowCount += callSlow ? 1 : 0;
+    next = (next + 1) % windowSize;
+  }
+
+  private void transitionTo(State newState) {
+    LOG.info("Snyk API circuit breaker state changed from {} to {}", state, newState);
+    state = newState;
+    generation++;
+    probesStarted = 0;
+    probesSucceeded = 0;
+    if (newState == State.OPEN) {
+      openedAt = System.nanoTime();
+      timesOpened++;
+    }
+    if (newState == State.CLOSED) {
+      recorded = 0;
+      next = 0;
+      failedCount = 0;
+      slowCount = 0;
+    }
+  }
+
+  /**
+   * A call permitted by {@link #tryAcquire()}, remembering the state it was permitted in.
+   */
+  public static final class Permit {
+    private final long generation;
+
+    private Permit(long generation) {
+      this.generation = generation;
+    }
+  }
+
+  public static class Metrics {
+    public final State state;
+    public final double failureRate;
+    public final double slowCallRate;
+    public final int bufferedCalls;
+    public final long rejectedCalls;
+    public final long timesOpened;
+
+    Metrics(State state, double failureRate, double slowCallRate, int bufferedCalls, long rejectedCalls, long timesOpened) {
+      this.state = state;
+      this.failureRate = failureRate;
+      this.slowCallRate = slowCallRate;
+      this.bufferedCalls = bufferedCalls;
+      this.rejectedCalls = rejectedCalls;
+      this.timesOpened = timesOpened;
+    }
+
+    @Override
+    public String toString() {
+      return "CircuitBreaker.Metrics{" +
+        "state=" + state +
+        ", failureRate=" + failureRate +
+        ", slowCallRate=" + slowCallRate +
+        ", bufferedCalls=" + bufferedCalls +
+        ", rejectedCalls=" + rejectedCalls +
+        ", timesOpened=" + timesOpened +
+        '}';
+    }
+  }
+}
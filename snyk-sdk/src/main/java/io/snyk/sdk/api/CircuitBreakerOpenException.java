@@ -0,0 +1,12 @@
+package io.snyk.sdk.api;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request while the {@link CircuitBreaker} is open.
+ */
+public class CircuitBreakerOpenException extends IOException {
+  public CircuitBreakerOpenException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,250 @@
+package io.snyk.sdk.api;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates {@code gzip} and {@code deflate} encoded responses as they stream in and hands the decompressed
+ * bytes to another body handler. Responses without a {@code Content-Encoding} go to that handler unchanged.
+ */
+class DecompressingBodyHandler<T> implements HttpResponse.BodyHandler<T> {
+
+  static final String ACCEPT_ENCODING = "gzip, deflate";
+
+  private final HttpResponse.BodyHandler<T> downstream;
+
+  DecompressingBodyHandler(HttpResponse.BodyHandler<T> downstream) {
+    this.downstream = downstream;
+  }
+
+  @Override
+  public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo responseInfo) {
+    String encoding = responseInfo.headers().firstValue("Content-Encoding")
+      .map(value -> value.trim().toLowerCase(Locale.ROOT))
+      .orElse("identity");
+    switch (encoding) {
+      case "gzip":
+      case "x-gzip":
+        return new Subscriber<>(downstream.apply(responseInfo), true);
+      case "deflate":
+        return new Subscriber<>(downstream.apply(responseInfo), false);
+      default:
+        return downstream.apply(responseInfo);
+    }
+  }
+
+  static final class Subscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int GZIP_HEADER_LENGTH = 10;
+    private static final int GZIP_TRAILER_LENGTH = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final HttpResponse.BodySubscriber<T> downstream;
+    private final boolean gzip;
+    private final Inflater inflater;
+    private final CRC32 crc = new CRC32();
+    /** Gzip header or trailer bytes, while they are not complete. */
+    private ByteBuffer frame;
+    private boolean headerRead;
+    private boolean receivedInput;
+    private boolean failed;
+    private Flow.Subscription subscription;
+
+    Subscriber(HttpResponse.BodySubscriber<T> downstream, boolean gzip) {
+      this.downstream = downstream;
+      this.gzip = gzip;
+      // gzip members wrap raw deflate data, while the deflate content coding is zlib-wrapped
+      this.inflater = new Inflater(gzip);
+      this.headerRead = !gzip;
+      this.frame = ByteBuffer.allocate(gzip ? GZIP_HEADER_LENGTH : GZIP_TRAILER_LENGTH);
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+      return downstream.getBody();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+      if (failed) {
+        return;
+      }
+      List<ByteBuffer> inflated = new ArrayList<>();
+      try {
+        for (ByteBuffer buffer : buffers) {
+          receivedInput |= buffer.hasRemaining();
+          inflate(buffer, inflated);
+        }
+      } catch (ZipException | DataFormatException e) {
+        subscription.cancel();
+        fail(e);
+        return;
+      }
+      if (inflated.isEmpty()) {
+        // nothing for downstream yet, so its demand is still open
+        subscription.request(1);
+      } else {
+        downstream.onNext(inflated);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      if (!failed) {
+        fail(throwable);
+      }
+    }
+
+    @Override
+    public void onComplete() {
+      if (failed) {
+        return;
+      }
+      if (receivedInput && !inflater.finished()) {
+        fail(new ZipException("Compressed response ended early"));
+        return;
+      }
+      if (receivedInput && gzip) {
+        if (frame.hasRemaining()) {
+          fail(new ZipException("Compressed response ended before the gzip trailer"));
+          return;
+        }
+        frame.flip().order(ByteOrder.LITTLE_ENDIAN);
+        if ((frame.getInt() & 0xffffffffL) != crc.getValue() || frame.getInt() != (int) inflater.getBytesWritten()) {
+          fail(new ZipException("Compressed response failed its gzip checksum"));
+          return;
+        }
+      }
+      inflater.end();
+      downstream.onComplete();
+    }
+
+    private void fail(Throwable e) {
+      failed = true;
+      inflater.end();
+      downstream.onError(e);
+    }
+
+    private void inflate(ByteBuffer input, List<ByteBuffer> output) throws ZipException, DataFormatException {
+      if (!headerRead) {
+        if (!readHeader(input)) {
+          return;
+        }
+        headerRead = true;
+      }
+      if (!inflater.finished()) {
+        inflater.setInput(input);
+        while (!inflater.finished() && !inflater.needsInput()) {
+          ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+          if (inflater.inflate(chunk) == 0) {
+            if (inflater.needsDictionary()) {
+              throw new ZipException("Compressed response needs a preset dictionary");
+            }
+            break;
+          }
+          chunk.flip();
+          if (gzip) {
+            crc.update(chunk.duplicate());
+          }
+          output.add(chunk);
+        }
+        if (inflater.finished() && gzip) {
+          frame = ByteBuffer.allocate(GZIP_TRAILER_LENGTH);
+        }
+      }
+      if (inflater.finished()) {
+        // the gzip trailer; anything after it, like further gzip members, is not expected from Snyk API
+        while (input.hasRemaining() && frame.hasRemaining()) {
+          frame.put(input.get());
+        }
+      }
+    }
+
+    /**
+     * Collects the gzip header across buffers, growing {@link #frame} by the optional fields the flags announce.
+     * Returns whether the header is complete, leaving {@code input} at the start of the deflate data.
+     */
+    private boolean readHeader(ByteBuffer input) throws ZipException {
+      while (true) {
+        while (input.hasRemaining() && frame.hasRemaining()) {
+          frame.put(input.get());
+        }
+        if (frame.hasRemaining()) {
+          return false;
+        }
+        int length = headerLength(frame.array(), frame.position());
+        if (length == frame.position()) {
+          return true;
+        }
+        if (length < 0) {
+          // a zero-terminated field continues in bytes not seen yet
+          length = frame.position() + 1;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(length);
+        grown.put(frame.array(), 0, frame.position());
+        frame = grown;
+      }
+    }
+
+    /**
+     * Length of the gzip header at the start of {@code header}, at least the {@code available} bytes when they
+     * do not include all of it, or {@code -1} when a zero-terminated field does not end within them.
+     */
+    static int headerLength(byte[] header, int available) throws ZipException {
+      if (((header[0] & 0xff) | (header[1] & 0xff) << 8) != GZIP_MAGIC) {
+        throw new ZipException("Not in gzip format");
+      }
+      if (header[2] != 8) {
+        throw new ZipException("Unsupported gzip compression method " + header[2]);
+      }
+      int flags = header[3] & 0xff;
+      int length = GZIP_HEADER_LENGTH;
+      if ((flags & FEXTRA) != 0) {
+        if (available < length + 2) {
+          return length + 2;
+        }
+        length += 2 + ((header[length] & 0xff) | (header[length + 1] & 0xff) << 8);
+      }
+      for (int field : new int[]{FNAME, FCOMMENT}) {
+        if ((flags & field) != 0) {
+          if (available < length) {
+            return length;
+          }
+          int end = length;
+          while (end < available && header[end] != 0) {
+            end++;
+          }
+          if (end == available) {
+            return -1;
+          }
+          length = end + 1;
+        }
+      }
+      if ((flags & FHCRC) != 0) {
+        length += 2;
+      }
+      return length;
+    }
+  }
+}
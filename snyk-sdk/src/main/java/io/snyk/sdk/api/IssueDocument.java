@@ -0,0 +1,30 @@
+package io.snyk.sdk.api;
+
+/**
+ * Where the severities of issues are found in the responses of the Snyk API test endpoints.
+ * A path lists field names from the root of the document, with {@code []} standing for any array element.
+ */
+public enum IssueDocument {
+  /** {@code v1/test/...}, see {@link io.snyk.sdk.model.TestResult}. */
+  TEST_RESULT("issues.vulnerabilities.[].severity", "issues.licenses.[].severity"),
+  /** {@code rest/orgs/{org}/packages/{purl}/issues}, see {@link io.snyk.sdk.model.purl.PurlIssues}. */
+  PURL_ISSUES("data.[].attributes.effective_severity_level", null);
+
+  static final String ANY_ELEMENT = "[]";
+
+  private final String[] vulnerabilitySeverityPath;
+  private final String[] licenseSeverityPath;
+
+  IssueDocument(String vulnerabilitySeverityPath, String licenseSeverityPath) {
+    this.vulnerabilitySeverityPath = vulnerabilitySeverityPath.split("\\.");
+    this.licenseSeverityPath = licenseSeverityPath == null ? null : licenseSeverityPath.split("\\.");
+  }
+
+  String[] vulnerabilitySeverityPath() {
+    return vulnerabilitySeverityPath;
+  }
+
+  String[] licenseSeverityPath() {
+    return licenseSeverityPath;
+  }
+}
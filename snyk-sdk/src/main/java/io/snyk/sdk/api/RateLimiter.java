@@ -0,0 +1,252 @@
+package io.snyk.sdk.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces requests to the Snyk API with a token bucket and an adaptive concurrency limit.
+ * <p>
+ * The concurrency limit grows by one request per round of successful responses and is halved on every
+ * {@code 429 Too Many Requests} (additive increase, multiplicative decrease). {@code Retry-After} and
+ * exhausted {@code X-RateLimit-Remaining} headers pause all requests until the API accepts them again.
+ * Callers waiting for a permit do not hold a thread.
+ */
+public class RateLimiter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RateLimiter.class);
+
+  static final int TOO_MANY_REQUESTS = 429;
+  private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+  private final double permitsPerSecond;
+  private final double burst;
+  private final int maxConcurrency;
+
+  private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+  private double tokens;
+  private long lastRefill;
+  private double concurrencyLimit;
+  private int inFlight;
+  private long pausedUntil;
+  private boolean wakeUpScheduled;
+
+  /**
+   * @param permitsPerSecond sustained request rate, {@code 0} for no rate limit
+   * @param burst            requests that may be sent at once after a quiet period
+   * @param maxConcurrency   upper bound of the adaptive concurrency limit, {@code 0} for no limit
+   */
+  public RateLimiter(double permitsPerSecond, int burst, int maxConcurrency) {
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = Math.max(1, burst);
+    this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Integer.MAX_VALUE;
+    this.tokens = this.burst;
+    this.lastRefill = System.nanoTime();
+    this.concurrencyLimit = this.maxConcurrency;
+  }
+
+  public static RateLimiter unlimited() {
+    return new RateLimiter(0, 1, 0);
+  }
+
+  /**
+   * Completes once a request may be sent. Every permit that completes normally must be given back with
+   * {@link #release}. A permit the caller stops waiting for, e.g. with {@link CompletableFuture#orTimeout},
+   * is given back automatically.
+   */
+  public CompletableFuture<Void> acquire() {
+    CompletableFuture<Void> permit = new CompletableFuture<>();
+    synchronized (this) {
+      waiters.add(permit);
+    }
+    drain();
+    return permit;
+  }
+
+  /**
+   * Gives back a permit, adapting the limits to the response. {@code response} is null when the request failed
+   * without a response.
+   */
+  public void release(HttpResponse<?> response) {
+    synchronized (this) {
+      inFlight--;
+      if (response != null) {
+        adapt(response.statusCode(), response.headers());
+      }
+    }
+    drain();
+  }
+
+  public synchronized Status getStatus() {
+    refill(System.nanoTime());
+    return new Status(
+      permitsPerSecond,
+      tokens,
+      maxConcurrency == Integer.MAX_VALUE ? 0 : (int) concurrencyLimit,
+      inFlight,
+      waiters.size(),
+      pausedUntil > System.nanoTime() ? Duration.ofNanos(pausedUntil - System.nanoTime()) : Duration.ZERO
+    );
+  }
+
+  private void drain() {
+    List<CompletableFuture<Void>> granted = new ArrayList<>();
+    synchronized (this) {
+      while (!waiters.isEmpty()) {
+        if (waiters.peek().isDone()) {
+          waiters.poll();
+          continue;
+        }
+        long now = System.nanoTime();
+        long wait = Math.max(0, pausedUntil - now);
+        if (wait == 0 && permitsPerSecond > 0) {
+          refill(now);
+          if (tokens < 1) {
+            wait = (long) ((1 - tokens) / permitsPerSecond * 1_000_000_000L);
+          }
+        }
+        if (wait > 0) {
+          scheduleWakeUp(wait);
+          break;
+        }
+        if (inFlight >= Math.max(1, (int) concurrencyLimit)) {
+          break;
+        }
+        if (permitsPerSecond > 0) {
+          tokens -= 1;
+        }
+        inFlight++;
+        granted.add(waiters.poll());
+      }
+    }
+    for (CompletableFuture<Void> permit : granted) {
+      if (!permit.complete(null)) {
+        release(null);
+      }
+    }
+  }
+
+  private void refill(long now) {
+    if (permitsPerSecond <= 0) {
+      return;
+    }
+    tokens = Math.min(burst, tokens + (now - lastRefill) / 1_000_000_000.0 * permitsPerSecond);
+    lastRefill = now;
+  }
+
+  private void scheduleWakeUp(long delayNanos) {
+    if (wakeUpScheduled) {
+      return;
+    }
+    wakeUpScheduled = true;
+    CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(this::wakeUp);
+  }
+
+  private void wakeUp() {
+    synchronized (this) {
+      wakeUpScheduled = false;
+    }
+    drain();
+  }
+
+  private void adapt(int statusCode, HttpHeaders headers) {
+    Optional<Duration> pause = retryAfter(headers).or(() -> rateLimitReset(headers));
+    pause.ifPresent(duration -> {
+      long until = System.nanoTime() + duration.toNanos();
+      if (until > pausedUntil) {
+        pausedUntil = until;
+        LOG.info("Snyk API asked to pause requests for {}", duration);
+      }
+    });
+
+    if (statusCode == TOO_MANY_REQUESTS) {
+      double decreased = Math.max(1, concurrencyLimit / 2);
+      if (decreased < concurrencyLimit) {
+        LOG.info("Snyk API rate limit reached, reducing concurrent requests from {} to {}", (int) concurrencyLimit, (int) decreased);
+      }
+      concurrencyLimit = decreased;
+    } else if (concurrencyLimit < maxConcurrency) {
+      concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1 / concurrencyLimit);
+    }
+  }
+
+  static Optional<Duration> retryAfter(HttpHeaders headers) {
+    return headers.firstValue("Retry-After").flatMap(value -> {
+      try {
+        return Optional.of(Duration.ofSeconds(Long.parseLong(value.trim())));
+      } catch (NumberFormatException e) {
+        try {
+          ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+          return Optional.of(Duration.between(Instant.now(), date.toInstant())).filter(d -> !d.isNegative());
+        } catch (DateTimeParseException ex) {
+          return Optional.empty();
+        }
+      }
+    });
+  }
+
+  /**
+   * {@code X-RateLimit-Reset} is accepted both as seconds until the reset and as epoch seconds of the reset.
+   */
+  static Optional<Duration> rateLimitReset(HttpHeaders headers) {
+    boolean exhausted = headers.firstValue("X-RateLimit-Remaining")
+      .map(String::trim)
+      .filter("0"::equals)
+      .isPresent();
+    if (!exhausted) {
+      return Optional.empty();
+    }
+    return headers.firstValue("X-RateLimit-Reset").flatMap(value -> {
+      try {
+        long reset = Long.parseLong(value.trim());
+        long seconds = reset > EPOCH_SECONDS_THRESHOLD ? reset - Instant.now().getEpochSecond() : reset;
+        return Optional.of(Duration.ofSeconds(Math.max(0, seconds)));
+      } catch (NumberFormatException e) {
+        return Optional.empty();
+      }
+    });
+  }
+
+  public static class Status {
+    public final double permitsPerSecond;
+    public final double availableTokens;
+    public final int concurrencyLimit;
+    public final int inFlight;
+    public final int waiting;
+    public final Duration pausedFor;
+
+    Status(double permitsPerSecond, double availableTokens, int concurrencyLimit, int inFlight, int waiting, Duration pausedFor) {
+      this.permitsPerSecond = permitsPerSecond;
+      this.availableTokens = availableTokens;
+      this.concurrencyLimit = concurrencyLimit;
+      this.inFlight = inFlight;
+      this.waiting = waiting;
+      this.pausedFor = pausedFor;
+    }
+
+    @Override
+    public String toString() {
+      return "RateLimiter.Status{" +
+        "permitsPerSecond=" + permitsPerSecond +
+        ", availableTokens=" + (int) availableTokens +
+        ", concurrencyLimit=" + concurrencyLimit +
+        ", inFlight=" + inFlight +
+        ", waiting=" + waiting +
+        ", pausedFor=" + pausedFor +
+        '}';
+    }
+  }
+}
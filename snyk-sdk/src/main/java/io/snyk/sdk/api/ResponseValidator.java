@@ -0,0 +1,70 @@
+package io.snyk.sdk.api;
+
+import java.net.http.HttpHeaders;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The {@code ETag} and {@code Last-Modified} headers of a response. Sending them back with
+ * {@link SnykHttpRequestBuilder#withValidator(Optional)} lets the API answer {@code 304 Not Modified}
+ * without a body when the response would be the same.
+ */
+public class ResponseValidator {
+
+  private final String etag;
+  private final String lastModified;
+
+  private ResponseValidator(String etag, String lastModified) {
+    this.etag = etag;
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * @return empty when neither value is set
+   */
+  public static Optional<ResponseValidator> of(String etag, String lastModified) {
+    String trimmedEtag = blankToNull(etag);
+    String trimmedLastModified = blankToNull(lastModified);
+    if (trimmedEtag == null && trimmedLastModified == null) {
+      return Optional.empty();
+    }
+    return Optional.of(new ResponseValidator(trimmedEtag, trimmedLastModified));
+  }
+
+  public static Optional<ResponseValidator> from(HttpHeaders headers) {
+    return of(headers.firstValue("ETag").orElse(null), headers.firstValue("Last-Modified").orElse(null));
+  }
+
+  public Optional<String> getEtag() {
+    return Optional.ofNullable(etag);
+  }
+
+  public Optional<String> getLastModified() {
+    return Optional.ofNullable(lastModified);
+  }
+
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ResponseValidator that = (ResponseValidator) o;
+    return Objects.equals(etag, that.etag) && Objects.equals(lastModified, that.lastModified);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(etag, lastModified);
+  }
+
+  @Override
+  public String toString() {
+    return "ResponseValidator{" +
+      "etag='" + etag + '\'' +
+      ", lastModified='" + lastModified + '\'' +
+      '}';
+  }
+}
@@ -0,0 +1,87 @@
+package io.snyk.sdk.api;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed idempotent request to the Snyk API is retried.
+ * <p>
+ * Delays grow exponentially with full jitter, so that clients failing together do not retry together.
+ * Retries are paid for from a budget that every first attempt tops up by {@code budgetRatio}; once the
+ * budget is spent, failures are returned as they are. In an outage retries therefore add at most
+ * {@code budgetRatio} to the load on the API instead of multiplying it.
+ */
+public class RetryPolicy {
+
+  /** Retries that may be made before any traffic has topped up the budget, and the most the budget holds. */
+  static final double BUDGET_RESERVE = 10;
+
+  private static final Set<Integer> RETRYABLE_STATUS_CODES = Set.of(429, 502, 503, 504);
+
+  private final int maxRetries;
+  private final Duration baseDelay;
+  private final Duration maxDelay;
+  private final double budgetRatio;
+  private double budget = BUDGET_RESERVE;
+
+  public RetryPolicy(int maxRetries, Duration baseDelay, Duration maxDelay, double budgetRatio) {
+    this.maxRetries = Math.max(0, maxRetries);
+    this.baseDelay = baseDelay;
+    this.maxDelay = maxDelay;
+    this.budgetRatio = budgetRatio;
+  }
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  public synchronized void recordRequest() {
+    budget = Math.min(BUDGET_RESERVE, budget + budgetRatio);
+  }
+
+  /**
+   * Takes one retry from the budget, if there is one left.
+   */
+  public synchronized boolean tryAcquireRetry() {
+    if (budget < 1) {
+      return false;
+    }
+    budget -= 1;
+    return true;
+  }
+
+  public synchronized double getBudget() {
+    return budget;
+  }
+
+  /**
+   * Transport failures, timeouts of an attempt, {@code 429} and gateway errors are retried. Other responses,
+   * including {@code 500}, and requests rejected by an open {@link CircuitBreaker} are returned as they are.
+   */
+  public boolean isRetryable(HttpResponse<?> response, Throwable error) {
+    if (error != null) {
+      Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      return cause instanceof IOException && !(cause instanceof CircuitBreakerOpenException);
+    }
+    return RETRYABLE_STATUS_CODES.contains(response.statusCode());
+  }
+
+  /**
+   * Delay before retry number {@code retry} (starting at 1), at least as long as the API asked for with
+   * {@code Retry-After}.
+   */
+  public Duration delay(int retry, HttpResponse<?> response) {
+    long cap = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(retry - 1, 20));
+    Duration jittered = Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    if (response == null) {
+      return jittered;
+    }
+    return RateLimiter.retryAfter(response.headers())
+      .filter(retryAfter -> retryAfter.compareTo(jittered) > 0)
+      .orElse(jittered);
+  }
+}
@@ -0,0 +1,179 @@
+package io.snyk.sdk.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import io.snyk.sdk.model.Severity;
+import io.snyk.sdk.model.SeverityCounts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Counts the severities of a successful test response with Jackson's non-blocking parser as the body arrives,
+ * so that neither the body nor the issues in it are held in memory. The body is only buffered for other
+ * status codes, and when {@code keepBody} is set.
+ */
+class SeverityCountingBodyHandler implements HttpResponse.BodyHandler<SeverityCountingBodyHandler.Counted> {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final IssueDocument document;
+  private final boolean keepBody;
+
+  SeverityCountingBodyHandler(IssueDocument document, boolean keepBody) {
+    this.document = document;
+    this.keepBody = keepBody;
+  }
+
+  @Override
+  public HttpResponse.BodySubscriber<Counted> apply(HttpResponse.ResponseInfo responseInfo) {
+    if (responseInfo.statusCode() != 200) {
+      return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofString(UTF_8), body -> new Counted(null, body));
+    }
+    try {
+      return new Subscriber(document, keepBody);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Severity counts of a successful response, and the body if it was kept.
+   */
+  static final class Counted {
+    final SeverityCounts counts;
+    final String body;
+
+    Counted(SeverityCounts counts, String body) {
+      this.counts = counts;
+      this.body = body;
+    }
+  }
+
+  static final class Subscriber implements HttpResponse.BodySubscriber<Counted> {
+
+    private final IssueDocument document;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final ByteArrayOutputStream body;
+    private final SeverityCounts counts = new SeverityCounts();
+    private final CompletableFuture<Counted> result = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+
+    Subscriber(IssueDocument document, boolean keepBody) throws IOException {
+      this.document = document;
+      this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+      this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+      this.body = keepBody ? new ByteArrayOutputStream() : null;
+    }
+
+    @Override
+    public CompletionStage<Counted> getBody() {
+      return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+      try {
+        for (ByteBuffer buffer : buffers) {
+          if (body != null) {
+            ByteBuffer copy = buffer.duplicate();
+            byte[] bytes = new byte[copy.remaining()];
+            copy.get(bytes);
+            body.write(bytes);
+          }
+          feeder.feedInput(buffer);
+          readAvailableTokens();
+        }
+        subscription.request(1);
+      } catch (IOException | RuntimeException e) {
+        subscription.cancel();
+        result.completeExceptionally(e);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      try {
+        feeder.endOfInput();
+        readAvailableTokens();
+        parser.close();
+        result.complete(new Counted(counts, body != null ? body.toString(UTF_8) : null));
+      } catch (IOException | RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    }
+
+    private void readAvailableTokens() throws IOException {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+        if (token != JsonToken.VALUE_STRING) {
+          continue;
+        }
+        JsonStreamContext context = parser.getParsingContext();
+        if (matches(context, document.vulnerabilitySeverityPath())) {
+          counts.addVulnerability(severity());
+        } else if (document.licenseSeverityPath() != null && matches(context, document.licenseSeverityPath())) {
+          counts.addLicense(severity());
+        }
+      }
+    }
+
+    /**
+     * The severity at the current token. An unknown severity fails the body, so that an issue is never
+     * silently left out of the counts.
+     */
+    private Severity severity() throws IOException {
+      Severity severity = Severity.of(parser.getText());
+      if (severity == null) {
+        throw new JsonParseException(parser, "Unknown severity: " + parser.getText());
+      }
+      return severity;
+    }
+
+    /**
+     * Walks up from the current value to the root, comparing each level with the path from its end.
+     */
+    static boolean matches(JsonStreamContext context, String[] path) {
+      int segment = path.length - 1;
+      for (JsonStreamContext level = context; !level.inRoot(); level = level.getParent()) {
+        if (segment < 0) {
+          return false;
+        }
+        String expected = path[segment--];
+        if (level.inArray()) {
+          if (!IssueDocument.ANY_ELEMENT.equals(expected)) {
+            return false;
+          }
+        } else if (!expected.equals(level.getCurrentName())) {
+          return false;
+        }
+      }
+      return segment < 0;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package io.snyk.sdk.api;
 import io.snyk.sdk.SnykConfig;
 import io.snyk.sdk.config.SSLConfiguration;
 import io.snyk.sdk.model.NotificationSettings;
+import io.snyk.sdk.model.SeverityCounts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,7 +17,15 @@ import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -24,14 +33,32 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class SnykClient {
   private static final Logger LOG = LoggerFactory.getLogger(SnykClient.class);
 
+  private static final int CIRCUIT_BREAKER_WINDOW_SIZE = 50;
+  private static final int CIRCUIT_BREAKER_MINIMUM_CALLS = 20;
+  private static final int CIRCUIT_BREAKER_HALF_OPEN_PROBES = 3;
+
   private final SnykConfig config;
   private final HttpClient httpClient;
+  private final RateLimiter rateLimiter;
+  private final RetryPolicy retryPolicy;
+  private final CircuitBreaker circuitBreaker;
 
   public SnykClient(SnykConfig config) throws Exception {
     this.config = config;
+    this.rateLimiter = new RateLimiter(config.rateLimitPerSecond, config.rateLimitBurst, config.maxConcurrentRequests);
+    this.retryPolicy = new RetryPolicy(config.maxRetries, config.retryBackoff, config.retryMaxBackoff, config.retryBudgetRatio);
+    this.circuitBreaker = config.circuitBreakerEnabled ? new CircuitBreaker(
+      CIRCUIT_BREAKER_WINDOW_SIZE,
+      CIRCUIT_BREAKER_MINIMUM_CALLS,
+      config.circuitBreakerFailureRate,
+      config.circuitBreakerSlowCallRate,
+      config.circuitBreakerSlowCallDuration,
+      config.circuitBreakerOpenDuration,
+      CIRCUIT_BREAKER_HALF_OPEN_PROBES
+    ) : null;
 
     var builder = HttpClient.newBuilder()
-      .version(HttpClient.Version.HTTP_1_1)
+      .version(config.httpVersion)
       .connectTimeout(config.timeout);
 
     if (config.trustAllCertificates) {
@@ -54,12 +81,193 @@ public class SnykClient {
     httpClient = builder.build();
   }
 
+  /**
+   * Sends a {@code GET} request. Transport failures, {@code 429} and gateway errors are retried with jittered
+   * exponential backoff as long as the retry budget and {@link SnykConfig#timeout} allow.
+   */
   public <TResult> SnykResult<TResult> get(Class<TResult> resultType, Function<SnykHttpRequestBuilder, SnykHttpRequestBuilder> requestBuilder) throws IOException, InterruptedException {
-    HttpRequest request = requestBuilder
-      .apply(SnykHttpRequestBuilder.create(config))
-      .build();
-    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-    return SnykResult.createResult(response, resultType);
+    return await(getAsync(resultType, requestBuilder));
+  }
+
+  /**
+   * Non-blocking variant of {@link #get(Class, Function)}. The returned future completes on the HTTP client's
+   * executor, so callers can compose, time out or fan out requests without holding a thread for the round trip.
+   * Transport and decoding failures complete the future exceptionally.
+   */
+  public <TResult> CompletableFuture<SnykResult<TResult>> getAsync(Class<TResult> resultType, Function<SnykHttpRequestBuilder, SnykHttpRequestBuilder> requestBuilder) {
+    return sendAsync(requestBuilder, HttpResponse.BodyHandlers.ofString(), response -> decode(response, resultType));
+  }
+
+  /**
+   * Sends a test request like {@link #get(Class, Function)}, but only counts the severities of the issues in the
+   * response while it streams in, instead of buffering and decoding it. The body of a successful response is
+   * only kept, in {@link SnykResult#responseAsText}, when debug logging is enabled.
+   */
+  public SnykResult<SeverityCounts> getSeverityCounts(IssueDocument document, Function<SnykHttpRequestBuilder, SnykHttpRequestBuilder> requestBuilder) throws IOException, InterruptedException {
+    return await(getSeverityCountsAsync(document, requestBuilder));
+  }
+
+  /**
+   * Non-blocking variant of {@link #getSeverityCounts(IssueDocument, Function)}.
+   */
+  public CompletableFuture<SnykResult<SeverityCounts>> getSeverityCountsAsync(IssueDocument document, Function<SnykHttpRequestBuilder, SnykHttpRequestBuilder> requestBuilder) {
+    SeverityCountingBodyHandler bodyHandler = new SeverityCountingBodyHandler(document, LOG.isDebugEnabled());
+    return sendAsync(requestBuilder, bodyHandler, response -> {
+      SeverityCountingBodyHandler.Counted counted = response.body();
+      if (counted.counts == null) {
+        return new SnykResult<>(response.statusCode(), counted.body, response);
+      }
+      if (counted.body != null) {
+        LOG.debug("Snyk API response for {}: {}", response.uri().getPath(), counted.body);
+      }
+      return new SnykResult<>(response.statusCode(), counted.counts, counted.body, response);
+    });
+  }
+
+  /**
+   * Non-blocking {@code POST}. The request builder is expected to set a body with
+   * {@link SnykHttpRequestBuilder#withJsonBody(Object)}.
+   */
+  public <TResult> CompletableFuture<SnykResult<TResult>> postAsync(Class<TResult> resultType, Function<SnykHttpRequestBuilder, SnykHttpRequestBuilder> requestBuilder) {
+    return sendAsync(requestBuilder, HttpResponse.BodyHandlers.ofString(), response -> decode(response, resultType));
+  }
+
+  private static <TResult> SnykResult<TResult> decode(HttpResponse<String> response, Class<TResult> resultType) {
+    try {
+      return SnykResult.createResult(response, resultType);
+    } catch (IOException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  private <TBody, TResult> CompletableFuture<SnykResult<TResult>> sendAsync(
+    Function<SnykHttpRequestBuilder, SnykHttpRequestBuilder> requestBuilder,
+    HttpResponse.BodyHandler<TBody> bodyHandler,
+    Function<HttpResponse<TBody>, SnykResult<TResult>> toResult
+  ) {
+    SnykHttpRequestBuilder builder = requestBuilder.apply(SnykHttpRequestBuilder.create(config));
+    HttpRequest request = builder.build();
+    long deadline = System.nanoTime() + request.timeout().orElse(config.timeout).toNanos();
+    CompletableFuture<HttpResponse<TBody>> responseFuture;
+    if ("GET".equals(request.method()) && retryPolicy.getMaxRetries() > 0) {
+      responseFuture = sendWithRetries(builder, request.uri().getPath(), bodyHandler, 0, deadline);
+    } else {
+      responseFuture = send(builder, bodyHandler, deadline);
+    }
+    return responseFuture.thenApply(toResult);
+  }
+
+  /**
+   * Each attempt may take whatever is left of the request timeout, so the first attempt gets all of it and
+   * retries only use the time a fast failure left over.
+   */
+  private <TBody> CompletableFuture<HttpResponse<TBody>> sendWithRetries(SnykHttpRequestBuilder builder, String path, HttpResponse.BodyHandler<TBody> bodyHandler, int retries, long deadline) {
+    if (retries == 0) {
+      retryPolicy.recordRequest();
+    }
+    return send(builder, bodyHandler, deadline)
+      .handle((response, error) -> {
+        if (retries >= retryPolicy.getMaxRetries() || !retryPolicy.isRetryable(response, error)) {
+          return completed(response, error);
+        }
+        Duration delay = retryPolicy.delay(retries + 1, response);
+        if (System.nanoTime() + delay.toNanos() >= deadline) {
+          return completed(response, error);
+        }
+        if (!retryPolicy.tryAcquireRetry()) {
+          LOG.debug("Snyk API retry budget exhausted, not retrying {}", path);
+          return completed(response, error);
+        }
+        LOG.debug("Retrying {} in {} after {}", path, delay,
+          error != null ? error.getMessage() : "status " + response.statusCode());
+        Executor delayed = CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> null, delayed)
+          .thenCompose(ignored -> sendWithRetries(builder, path, bodyHandler, retries + 1, deadline));
+      })
+      .thenCompose(Function.identity());
+  }
+
+  private static <T> CompletableFuture<T> completed(T value, Throwable error) {
+    return error != null ? CompletableFuture.failedFuture(error) : CompletableFuture.completedFuture(value);
+  }
+
+  /**
+   * Sends the request once the rate limiter allows it, or fails fast while the circuit breaker is open.
+   * Waiting for a permit and the request itself both have to finish before {@code deadline}, in
+   * {@link System#nanoTime()}, so the request only gets the time that is left after the wait.
+   */
+  private <TBody> CompletableFuture<HttpResponse<TBody>> send(SnykHttpRequestBuilder builder, HttpResponse.BodyHandler<TBody> bodyHandler, long deadline) {
+    if (circuitBreaker != null && circuitBreaker.isRejecting()) {
+      return CompletableFuture.failedFuture(circuitOpen());
+    }
+    return rateLimiter.acquire()
+      .orTimeout(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())), TimeUnit.MILLISECONDS)
+      .exceptionally(e -> {
+        throw new CompletionException(rateLimitTimeout());
+      })
+      .thenCompose(permit -> {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          rateLimiter.release(null);
+          return CompletableFuture.failedFuture(rateLimitTimeout());
+        }
+        HttpRequest request = builder.withTimeout(Duration.ofNanos(remaining)).build();
+        Optional<CircuitBreaker.Permit> circuitPermit = Optional.empty();
+        if (circuitBreaker != null) {
+          circuitPermit = circuitBreaker.tryAcquire();
+          if (circuitPermit.isEmpty()) {
+            rateLimiter.release(null);
+            return CompletableFuture.failedFuture(circuitOpen());
+          }
+        }
+        Optional<CircuitBreaker.Permit> acquired = circuitPermit;
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, new DecompressingBodyHandler<>(bodyHandler))
+          .whenComplete((response, error) -> {
+            rateLimiter.release(response);
+            acquired.ifPresent(circuit -> circuitBreaker.onResult(circuit, System.nanoTime() - start, response, error));
+          });
+      });
+  }
+
+  private static HttpTimeoutException rateLimitTimeout() {
+    return new HttpTimeoutException("Timed out waiting for the Snyk API rate limit");
+  }
+
+  private CircuitBreakerOpenException circuitOpen() {
+    return new CircuitBreakerOpenException("Snyk API is failing or too slow, not sending requests for up to " + config.circuitBreakerOpenDuration);
+  }
+
+  /**
+   * Current client-side limits, as adapted to the responses of the Snyk API.
+   */
+  public RateLimiter.Status getRateLimitStatus() {
+    return rateLimiter.getStatus();
+  }
+
+  /**
+   * State of the circuit breaker and the calls it recorded, or empty when the circuit breaker is disabled.
+   */
+  public Optional<CircuitBreaker.Metrics> getCircuitBreakerMetrics() {
+    return Optional.ofNullable(circuitBreaker).map(CircuitBreaker::getMetrics);
   }
 
   public SnykResult<NotificationSettings> getNotificationSettings(String org) throws java.io.IOException, java.lang.InterruptedException {
@@ -1,11 +1,14 @@
 package io.snyk.sdk.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.snyk.sdk.SnykConfig;
 
 import javax.annotation.Nonnull;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpRequest;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -14,12 +17,20 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 
 public class SnykHttpRequestBuilder {
+  static final String JSON_API_CONTENT_TYPE = "application/vnd.api+json";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   private final SnykConfig config;
   private final HashMap<String, String> queryParams = new HashMap<>();
   private String path = "";
+  private String jsonBody;
+  private Duration timeout;
+  private ResponseValidator validator;
 
   private SnykHttpRequestBuilder(@Nonnull SnykConfig config) {
     this.config = config;
+    this.timeout = config.timeout;
   }
 
   public static SnykHttpRequestBuilder create(@Nonnull SnykConfig config) {
@@ -40,13 +51,54 @@ public class SnykHttpRequestBuilder {
     return this;
   }
 
+  /**
+   * Turns the request into a {@code POST} sending the given body serialised as JSON:API.
+   */
+  public SnykHttpRequestBuilder withJsonBody(@Nonnull Object body) {
+    try {
+      this.jsonBody = OBJECT_MAPPER.writeValueAsString(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Request body cannot be serialised to JSON", e);
+    }
+    return this;
+  }
+
+  /**
+   * Overrides {@link SnykConfig#timeout} for this request.
+   */
+  public SnykHttpRequestBuilder withTimeout(@Nonnull Duration timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * Makes the request conditional on the response having changed since the one the validator was taken from.
+   * An unchanged response comes back as {@code 304 Not Modified}, see {@link SnykResult#isNotModified()}.
+   */
+  public SnykHttpRequestBuilder withValidator(Optional<ResponseValidator> validator) {
+    this.validator = validator.orElse(null);
+    return this;
+  }
+
   public HttpRequest build() {
-    return HttpRequest.newBuilder()
-      .GET()
+    HttpRequest.Builder builder = HttpRequest.newBuilder()
       .uri(buildURI())
-      .timeout(config.timeout)
+      .timeout(timeout)
       .setHeader("Authorization", String.format("token %s", config.token))
-      .setHeader("User-Agent", config.userAgent)
+      .setHeader("User-Agent", config.userAgent);
+    if (config.compression) {
+      builder.setHeader("Accept-Encoding", DecompressingBodyHandler.ACCEPT_ENCODING);
+    }
+    if (validator != null) {
+      validator.getEtag().ifPresent(etag -> builder.setHeader("If-None-Match", etag));
+      validator.getLastModified().ifPresent(lastModified -> builder.setHeader("If-Modified-Since", lastModified));
+    }
+    if (jsonBody == null) {
+      return builder.GET().build();
+    }
+    return builder
+      .setHeader("Content-Type", JSON_API_CONTENT_TYPE)
+      .POST(HttpRequest.BodyPublishers.ofString(jsonBody, UTF_8))
       .build();
   }
 
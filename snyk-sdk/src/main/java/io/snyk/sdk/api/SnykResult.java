@@ -2,27 +2,48 @@ package io.snyk.sdk.api;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.IOException;
 import java.net.http.HttpResponse;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SnykResult<T> {
+  /**
+   * Shared by all results, so that Jackson introspects each result type and builds its deserializers only once.
+   * Readers are immutable and thread-safe.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
   public int statusCode;
   public Optional<T> result = Optional.empty();
   public Optional<String> responseAsText = Optional.empty();
-  public HttpResponse<String> response;
+  public HttpResponse<?> response;
 
-  public SnykResult(int statusCode, T result, String responseBody, HttpResponse<String> response) {
+  /**
+   * @param responseBody the raw body, or null when it was not kept
+   */
+  public SnykResult(int statusCode, T result, String responseBody, HttpResponse<?> response) {
     this.statusCode = statusCode;
     this.result = Optional.of(result);
-    this.responseAsText = Optional.of(responseBody);
+    this.responseAsText = Optional.ofNullable(responseBody);
     this.response = response;
   }
 
   public SnykResult(HttpResponse<String> response) {
-    this.statusCode = response.statusCode();
-    this.responseAsText = Optional.of(response.body());
+    this(response.statusCode(), response.body(), response);
+  }
+
+  /**
+   * An unsuccessful result, with the body of the response for diagnostics.
+   */
+  public SnykResult(int statusCode, String responseBody, HttpResponse<?> response) {
+    this.statusCode = statusCode;
+    this.responseAsText = Optional.ofNullable(responseBody);
     this.response = response;
   }
 
@@ -34,15 +55,32 @@ public class SnykResult<T> {
     return statusCode == 200;
   }
 
+  /**
+   * Whether a request sent with {@link SnykHttpRequestBuilder#withValidator(Optional)} found the response unchanged.
+   */
+  public boolean isNotModified() {
+    return statusCode == 304;
+  }
+
+  /**
+   * The validator to send with the next request for the same resource, if the API returned one.
+   */
+  public Optional<ResponseValidator> getValidator() {
+    return response == null ? Optional.empty() : ResponseValidator.from(response.headers());
+  }
+
   public static <ResType> SnykResult<ResType> createResult(HttpResponse<String> response, Class<ResType> resultType) throws IOException {
     int status = response.statusCode();
     if (status == 200) {
       String responseBody = response.body();
-      ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-      var res = objectMapper.readValue(responseBody, resultType);
+      ResType res = readerFor(resultType).readValue(responseBody);
       return new SnykResult<>(status, res, responseBody, response);
     } else {
       return new SnykResult<>(response);
     }
   }
+
+  static ObjectReader readerFor(Class<?> resultType) {
+    return READERS.computeIfAbsent(resultType, OBJECT_MAPPER::readerFor);
+  }
 }
@@ -0,0 +1,31 @@
+package io.snyk.sdk.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Number of issues per severity in a test response, counted while the response is streamed instead of
+ * decoding every issue.
+ */
+public class SeverityCounts {
+
+  private final Map<Severity, Integer> vulnerabilities = new EnumMap<>(Severity.class);
+  private final Map<Severity, Integer> licenses = new EnumMap<>(Severity.class);
+
+  public void addVulnerability(Severity severity) {
+    vulnerabilities.merge(severity, 1, Integer::sum);
+  }
+
+  public void addLicense(Severity severity) {
+    licenses.merge(severity, 1, Integer::sum);
+  }
+
+  public Map<Severity, Integer> getVulnerabilities() {
+    return Collections.unmodifiableMap(vulnerabilities);
+  }
+
+  public Map<Severity, Integer> getLicenses() {
+    return Collections.unmodifiableMap(licenses);
+  }
+}
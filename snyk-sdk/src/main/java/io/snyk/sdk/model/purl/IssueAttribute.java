@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.snyk.sdk.model.Severity;
 
 import java.io.Serializable;
+import java.util.List;
 
 public class IssueAttribute implements Serializable {
   private static final long serialVersionUID = 1L;
@@ -18,4 +19,6 @@ public class IssueAttribute implements Serializable {
   public String description;
   @JsonProperty("effective_severity_level")
   public Severity severity;
+  @JsonProperty("coordinates")
+  public List<IssueCoordinate> coordinates;
 }
@@ -0,0 +1,13 @@
+package io.snyk.sdk.model.purl;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class IssueCoordinate implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  @JsonProperty("representations")
+  public List<IssueRepresentation> representations;
+}
@@ -0,0 +1,12 @@
+package io.snyk.sdk.model.purl;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+
+public class IssueRepresentation implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  @JsonProperty("package")
+  public PackageRepresentation pckg;
+}
@@ -0,0 +1,18 @@
+package io.snyk.sdk.model.purl;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+
+public class PackageRepresentation implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  @JsonProperty("type")
+  public String type;
+  @JsonProperty("name")
+  public String name;
+  @JsonProperty("version")
+  public String version;
+  @JsonProperty("url")
+  public String url;
+}
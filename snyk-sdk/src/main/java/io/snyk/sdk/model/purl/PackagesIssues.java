@@ -0,0 +1,37 @@
+package io.snyk.sdk.model.purl;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Response of the bulk {@code POST rest/orgs/{org}/packages/issues} endpoint.
+ * Issues of all requested packages are returned in a single list; each issue names the package it affects
+ * in its {@link IssueAttribute#coordinates}. Packages that could not be tested are reported in {@link Meta#errors}.
+ */
+public class PackagesIssues implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  @JsonProperty("data")
+  public List<PurlIssue> purlIssues;
+  @JsonProperty("meta")
+  public Meta meta;
+  @JsonProperty("links")
+  public Links links;
+
+  public static class Meta implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("errors")
+    public List<JsonNode> errors;
+  }
+
+  public static class Links implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("next")
+    public String next;
+  }
+}
@@ -0,0 +1,38 @@
+package io.snyk.sdk.model.purl;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Request body of the bulk {@code POST rest/orgs/{org}/packages/issues} endpoint.
+ */
+public class PackagesIssuesRequest {
+
+  @JsonProperty("data")
+  public final Data data;
+
+  public PackagesIssuesRequest(List<String> purls) {
+    this.data = new Data(purls);
+  }
+
+  public static class Data {
+    @JsonProperty("type")
+    public final String type = "resource";
+    @JsonProperty("attributes")
+    public final Attributes attributes;
+
+    private Data(List<String> purls) {
+      this.attributes = new Attributes(purls);
+    }
+  }
+
+  public static class Attributes {
+    @JsonProperty("purls")
+    public final List<String> purls;
+
+    private Attributes(List<String> purls) {
+      this.purls = purls;
+    }
+  }
+}
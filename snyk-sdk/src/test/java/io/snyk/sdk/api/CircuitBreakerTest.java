@@ -0,0 +1,135 @@
+package io.snyk.sdk.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+
+  private static final long FAST = Duration.ofMillis(100).toNanos();
+  private static final long SLOW = Duration.ofSeconds(20).toNanos();
+
+  @Test
+  void opensWhenFailureRateReachesThreshold() {
+    CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+    for (int i = 0; i < 5; i++) {
+      call(breaker, FAST, new IOException("Connection reset"));
+      call(breaker, FAST, null);
+    }
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getMetrics().state);
+    assertTrue(breaker.isRejecting());
+    assertFalse(breaker.tryAcquire().isPresent());
+    assertEquals(1, breaker.getMetrics().rejectedCalls);
+  }
+
+  @Test
+  void staysClosedBelowMinimumCalls() {
+    CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+    for (int i = 0; i < 9; i++) {
+      call(breaker, FAST, new IOException("Connection reset"));
+    }
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getMetrics().state);
+  }
+
+  @Test
+  void opensWhenTooManyCallsAreSlow() {
+    CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+    for (int i = 0; i < 10; i++) {
+      call(breaker, SLOW, null);
+    }
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getMetrics().state);
+  }
+
+  @Test
+  void doesNotCountRateLimitedOrClientErrorResponsesAsFailures() {
+    CircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+    for (int i = 0; i < 10; i++) {
+      CircuitBreaker.Permit permit = breaker.tryAcquire().orElseThrow();
+      breaker.onResult(permit, FAST, FakeResponse.withStatus(i % 2 == 0 ? 429 : 404), null);
+    }
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getMetrics().state);
+    assertEquals(0.0, breaker.getMetrics().failureRate);
+  }
+
+  @Test
+  void closesAfterSuccessfulProbes() {
+    CircuitBreaker breaker = breaker(Duration.ZERO);
+    open(breaker);
+
+    for (int i = 0; i < 3; i++) {
+      call(breaker, FAST, null);
+    }
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getMetrics().state);
+    assertEquals(0, breaker.getMetrics().bufferedCalls);
+  }
+
+  @Test
+  void reopensWhenProbeFails() {
+    CircuitBreaker breaker = breaker(Duration.ZERO);
+    open(breaker);
+
+    call(breaker, FAST, null);
+    call(breaker, FAST, new IOException("Connection reset"));
+
+    CircuitBreaker.Metrics metrics = breaker.getMetrics();
+    assertEquals(CircuitBreaker.State.OPEN, metrics.state);
+    assertEquals(2, metrics.timesOpened);
+  }
+
+  @Test
+  void halfOpen_limitsNumberOfProbes() {
+    CircuitBreaker breaker = breaker(Duration.ZERO);
+    open(breaker);
+
+    assertTrue(breaker.tryAcquire().isPresent());
+    assertTrue(breaker.tryAcquire().isPresent());
+    assertTrue(breaker.tryAcquire().isPresent());
+    assertFalse(breaker.tryAcquire().isPresent());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getMetrics().state);
+  }
+
+  @Test
+  void halfOpen_ignoresLateResultOfCallPermittedWhileClosed() {
+    CircuitBreaker breaker = breaker(Duration.ZERO);
+    CircuitBreaker.Permit startedWhileClosed = breaker.tryAcquire().orElseThrow();
+    open(breaker);
+    call(breaker, FAST, null);
+
+    breaker.onResult(startedWhileClosed, SLOW, null, new IOException("Connection reset"));
+
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getMetrics().state);
+    call(breaker, FAST, null);
+    call(breaker, FAST, null);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getMetrics().state);
+  }
+
+  private static CircuitBreaker breaker(Duration openDuration) {
+    return new CircuitBreaker(20, 10, 0.5, 0.8, Duration.ofSeconds(10), openDuration, 3);
+  }
+
+  private static void open(CircuitBreaker breaker) {
+    for (int i = 0; i < 10; i++) {
+      call(breaker, FAST, new IOException("Connection refused"));
+    }
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getMetrics().state);
+  }
+
+  private static void call(CircuitBreaker breaker, long durationNanos, Throwable error) {
+    CircuitBreaker.Permit permit = breaker.tryAcquire().orElseThrow();
+    breaker.onResult(permit, durationNanos, error == null ? FakeResponse.withStatus(200) : null, error);
+  }
+}
@@ -0,0 +1,133 @@
+package io.snyk.sdk.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecompressingBodyHandlerTest {
+
+  private static final String BODY = "{\"issues\":{\"vulnerabilities\":[" +
+    "{\"id\":\"SNYK-JS-LODASH-567746\",\"severity\":\"high\",\"description\":\"" + "Prototype pollution. ".repeat(2000) + "\"}]}}";
+
+  @Test
+  void gzip_isInflatedAcrossBuffers() throws Exception {
+    byte[] compressed = gzip(BODY);
+
+    for (int chunkSize : new int[]{1, 7, 1024, compressed.length}) {
+      assertEquals(BODY, feed(compressed, true, chunkSize));
+    }
+  }
+
+  @Test
+  void gzip_withOptionalHeaderFields() throws Exception {
+    byte[] compressed = gzipWithHeaderFields(BODY);
+
+    assertEquals(BODY, feed(compressed, true, 3));
+  }
+
+  @Test
+  void deflate_isInflated() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (DeflaterOutputStream deflate = new DeflaterOutputStream(out)) {
+      deflate.write(BODY.getBytes(UTF_8));
+    }
+
+    assertEquals(BODY, feed(out.toByteArray(), false, 100));
+  }
+
+  @Test
+  void gzip_withWrongChecksum_fails() throws Exception {
+    byte[] compressed = gzip(BODY);
+    compressed[compressed.length - 6]++;
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> feed(compressed, true, 512));
+    assertTrue(e.getCause() instanceof ZipException);
+  }
+
+  @Test
+  void gzip_truncated_fails() throws Exception {
+    byte[] compressed = gzip(BODY);
+    byte[] truncated = new byte[compressed.length / 2];
+    System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> feed(truncated, true, 512));
+    assertTrue(e.getCause() instanceof ZipException);
+  }
+
+  @Test
+  void emptyBody_isNotAnError() throws Exception {
+    assertEquals("", feed(new byte[0], true, 1));
+  }
+
+  private static String feed(byte[] body, boolean gzip, int chunkSize) throws Exception {
+    DecompressingBodyHandler.Subscriber<String> subscriber =
+      new DecompressingBodyHandler.Subscriber<>(HttpResponse.BodySubscribers.ofString(UTF_8), gzip);
+    subscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+      }
+
+      @Override
+      public void cancel() {
+      }
+    });
+    for (int offset = 0; offset < body.length; offset += chunkSize) {
+      subscriber.onNext(List.of(ByteBuffer.wrap(body, offset, Math.min(chunkSize, body.length - offset)).slice()));
+    }
+    subscriber.onComplete();
+    return subscriber.getBody().toCompletableFuture().get();
+  }
+
+  private static byte[] gzip(String body) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body.getBytes(UTF_8));
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * A gzip member with the FEXTRA, FNAME, FCOMMENT and FHCRC fields that {@link GZIPOutputStream} does not write.
+   */
+  private static byte[] gzipWithHeaderFields(String body) throws Exception {
+    byte[] data = body.getBytes(UTF_8);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(new byte[]{0x1f, (byte) 0x8b, 8, 2 | 4 | 8 | 16, 0, 0, 0, 0, 0, (byte) 0xff});
+    out.write(new byte[]{3, 0, 'a', 'b', 'c'});
+    out.write("test-result.json\0".getBytes(UTF_8));
+    out.write("a comment\0".getBytes(UTF_8));
+    out.write(new byte[]{0, 0});
+
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(data);
+    deflater.finish();
+    byte[] buffer = new byte[4096];
+    while (!deflater.finished()) {
+      out.write(buffer, 0, deflater.deflate(buffer));
+    }
+    deflater.end();
+
+    CRC32 crc = new CRC32();
+    crc.update(data);
+    ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    trailer.putInt((int) crc.getValue()).putInt(data.length);
+    out.write(trailer.array());
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,76 @@
+package io.snyk.sdk.api;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class FakeResponse implements HttpResponse<String> {
+
+  private final int statusCode;
+  private final HttpHeaders headers;
+  private final String body;
+
+  FakeResponse(int statusCode, Map<String, List<String>> headers, String body) {
+    this.statusCode = statusCode;
+    this.headers = headers(headers);
+    this.body = body;
+  }
+
+  static FakeResponse withStatus(int statusCode) {
+    return new FakeResponse(statusCode, Map.of(), "");
+  }
+
+  static FakeResponse withHeaders(int statusCode, Map<String, List<String>> headers) {
+    return new FakeResponse(statusCode, headers, "");
+  }
+
+  static HttpHeaders headers(Map<String, List<String>> headers) {
+    return HttpHeaders.of(headers, (name, value) -> true);
+  }
+
+  @Override
+  public int statusCode() {
+    return statusCode;
+  }
+
+  @Override
+  public HttpRequest request() {
+    return HttpRequest.newBuilder(uri()).build();
+  }
+
+  @Override
+  public Optional<HttpResponse<String>> previousResponse() {
+    return Optional.empty();
+  }
+
+  @Override
+  public HttpHeaders headers() {
+    return headers;
+  }
+
+  @Override
+  public String body() {
+    return body;
+  }
+
+  @Override
+  public Optional<SSLSession> sslSession() {
+    return Optional.empty();
+  }
+
+  @Override
+  public URI uri() {
+    return URI.create("https://api.snyk.io/");
+  }
+
+  @Override
+  public HttpClient.Version version() {
+    return HttpClient.Version.HTTP_1_1;
+  }
+}
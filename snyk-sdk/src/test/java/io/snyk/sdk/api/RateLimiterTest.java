@@ -0,0 +1,108 @@
+package io.snyk.sdk.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+
+  @Test
+  void acquire_waitsForAFreeSlotOnceConcurrencyLimitIsReached() {
+    RateLimiter limiter = new RateLimiter(0, 1, 2);
+
+    CompletableFuture<Void> first = limiter.acquire();
+    CompletableFuture<Void> second = limiter.acquire();
+    CompletableFuture<Void> third = limiter.acquire();
+
+    assertTrue(first.isDone());
+    assertTrue(second.isDone());
+    assertFalse(third.isDone());
+
+    limiter.release(FakeResponse.withHeaders(200, Map.of()));
+
+    assertTrue(third.isDone());
+  }
+
+  @Test
+  void release_whenTooManyRequests_halvesConcurrencyLimit() {
+    RateLimiter limiter = new RateLimiter(0, 1, 8);
+
+    limiter.acquire();
+    limiter.release(FakeResponse.withHeaders(429, Map.of()));
+
+    assertEquals(4, limiter.getStatus().concurrencyLimit);
+  }
+
+  @Test
+  void release_afterSuccessfulResponses_growsConcurrencyLimitBack() {
+    RateLimiter limiter = new RateLimiter(0, 1, 8);
+    limiter.acquire();
+    limiter.release(FakeResponse.withHeaders(429, Map.of()));
+
+    for (int i = 0; i < 30; i++) {
+      limiter.acquire();
+      limiter.release(FakeResponse.withHeaders(200, Map.of()));
+    }
+
+    assertEquals(8, limiter.getStatus().concurrencyLimit);
+  }
+
+  @Test
+  void acquire_whenTokensAreUsedUp_waitsForTheNextToken() throws Exception {
+    RateLimiter limiter = new RateLimiter(20, 1, 0);
+
+    limiter.acquire();
+    limiter.release(FakeResponse.withHeaders(200, Map.of()));
+    CompletableFuture<Void> next = limiter.acquire();
+
+    assertFalse(next.isDone());
+    next.get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void acquire_whenApiAsksToRetryLater_pausesRequests() {
+    RateLimiter limiter = new RateLimiter(0, 1, 0);
+
+    limiter.acquire();
+    limiter.release(FakeResponse.withHeaders(429, Map.of("Retry-After", List.of("30"))));
+
+    assertFalse(limiter.acquire().isDone());
+    assertTrue(limiter.getStatus().pausedFor.compareTo(Duration.ofSeconds(25)) > 0);
+  }
+
+  @Test
+  void retryAfter_acceptsSecondsAndHttpDates() {
+    assertEquals(Optional.of(Duration.ofSeconds(120)), RateLimiter.retryAfter(FakeResponse.headers(Map.of("Retry-After", List.of("120")))));
+    assertEquals(Optional.empty(), RateLimiter.retryAfter(FakeResponse.headers(Map.of("Retry-After", List.of("Wed, 21 Oct 2015 07:28:00 GMT")))));
+    assertEquals(Optional.empty(), RateLimiter.retryAfter(FakeResponse.headers(Map.of("Retry-After", List.of("soon")))));
+  }
+
+  @Test
+  void rateLimitReset_onlyAppliesWhenNoRequestsRemain() {
+    assertEquals(Optional.empty(), RateLimiter.rateLimitReset(FakeResponse.headers(Map.of(
+      "X-RateLimit-Remaining", List.of("5"),
+      "X-RateLimit-Reset", List.of("10")
+    ))));
+    assertEquals(Optional.of(Duration.ofSeconds(10)), RateLimiter.rateLimitReset(FakeResponse.headers(Map.of(
+      "X-RateLimit-Remaining", List.of("0"),
+      "X-RateLimit-Reset", List.of("10")
+    ))));
+
+    long inAMinute = Instant.now().getEpochSecond() + 60;
+    Duration untilReset = RateLimiter.rateLimitReset(FakeResponse.headers(Map.of(
+      "X-RateLimit-Remaining", List.of("0"),
+      "X-RateLimit-Reset", List.of(String.valueOf(inAMinute))
+    ))).orElseThrow();
+    assertTrue(untilReset.compareTo(Duration.ofSeconds(55)) > 0);
+  }
+}
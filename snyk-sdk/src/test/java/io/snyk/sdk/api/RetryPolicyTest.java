@@ -0,0 +1,62 @@
+package io.snyk.sdk.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryPolicyTest {
+
+  @Test
+  void isRetryable_transportFailures() {
+    RetryPolicy policy = new RetryPolicy(2, Duration.ofMillis(100), Duration.ofSeconds(1), 0.1);
+
+    assertTrue(policy.isRetryable(null, new ConnectException("Connection refused")));
+    assertTrue(policy.isRetryable(null, new CompletionException(new HttpTimeoutException("request timed out"))));
+    assertTrue(policy.isRetryable(null, new IOException("Connection reset")));
+    assertFalse(policy.isRetryable(null, new IllegalStateException("bug")));
+  }
+
+  @Test
+  void delay_staysBelowExponentialBound() {
+    RetryPolicy policy = new RetryPolicy(5, Duration.ofMillis(100), Duration.ofMillis(300), 0.1);
+
+    for (int i = 0; i < 100; i++) {
+      assertTrue(policy.delay(1, null).toMillis() <= 100);
+      assertTrue(policy.delay(2, null).toMillis() <= 200);
+      assertTrue(policy.delay(5, null).toMillis() <= 300);
+    }
+  }
+
+  @Test
+  void tryAcquireRetry_whenReserveIsSpent_allowsRetriesInProportionToRequests() {
+    RetryPolicy policy = new RetryPolicy(2, Duration.ofMillis(100), Duration.ofSeconds(1), 0.5);
+    for (int i = 0; i < RetryPolicy.BUDGET_RESERVE; i++) {
+      assertTrue(policy.tryAcquireRetry());
+    }
+    assertFalse(policy.tryAcquireRetry());
+
+    policy.recordRequest();
+    assertFalse(policy.tryAcquireRetry());
+    policy.recordRequest();
+    assertTrue(policy.tryAcquireRetry());
+  }
+
+  @Test
+  void recordRequest_doesNotSaveUpMoreThanTheReserve() {
+    RetryPolicy policy = new RetryPolicy(2, Duration.ofMillis(100), Duration.ofSeconds(1), 1);
+
+    for (int i = 0; i < 1000; i++) {
+      policy.recordRequest();
+    }
+
+    assertEquals(RetryPolicy.BUDGET_RESERVE, policy.getBudget());
+  }
+}
@@ -0,0 +1,94 @@
+package io.snyk.sdk.api;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import io.snyk.sdk.model.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SeverityCountingBodyHandlerTest {
+
+  private static final String TEST_RESULT = "{" +
+    "\"ok\":false," +
+    "\"issues\":{" +
+    "\"vulnerabilities\":[" +
+    "{\"id\":\"SNYK-1\",\"severity\":\"high\",\"semver\":{\"vulnerable\":[\"<4.17.19\"]}}," +
+    "{\"id\":\"SNYK-2\",\"severity\":\"high\",\"from\":[{\"severity\":\"critical\"}]}," +
+    "{\"id\":\"SNYK-3\",\"severity\":\"critical\"}]," +
+    "\"licenses\":[{\"id\":\"snyk:lic:npm:lodash:GPL\",\"severity\":\"medium\"}]}," +
+    "\"severity\":\"low\"}";
+
+  private static final String PURL_ISSUES = "{" +
+    "\"data\":[" +
+    "{\"id\":\"SNYK-1\",\"attributes\":{\"effective_severity_level\":\"low\",\"severities\":[{\"level\":\"high\"}]}}," +
+    "{\"id\":\"SNYK-2\",\"attributes\":{\"effective_severity_level\":\"medium\"}}]," +
+    "\"links\":{}}";
+
+  @Test
+  void testResult_countsVulnerabilitiesAndLicensesOnly() throws Exception {
+    SeverityCountingBodyHandler.Counted counted = feed(IssueDocument.TEST_RESULT, false, TEST_RESULT, 1);
+
+    assertEquals(Map.of(Severity.HIGH, 2, Severity.CRITICAL, 1), counted.counts.getVulnerabilities());
+    assertEquals(Map.of(Severity.MEDIUM, 1), counted.counts.getLicenses());
+    assertNull(counted.body);
+  }
+
+  @Test
+  void purlIssues_countsEffectiveSeverity() throws Exception {
+    SeverityCountingBodyHandler.Counted counted = feed(IssueDocument.PURL_ISSUES, false, PURL_ISSUES, 7);
+
+    assertEquals(Map.of(Severity.LOW, 1, Severity.MEDIUM, 1), counted.counts.getVulnerabilities());
+    assertTrue(counted.counts.getLicenses().isEmpty());
+  }
+
+  @Test
+  void keepBody_returnsTheWholeBody() throws Exception {
+    SeverityCountingBodyHandler.Counted counted = feed(IssueDocument.TEST_RESULT, true, TEST_RESULT, 5);
+
+    assertEquals(TEST_RESULT, counted.body);
+  }
+
+  @Test
+  void unknownSeverity_failsTheBody() {
+    String body = "{\"issues\":{\"vulnerabilities\":[{\"severity\":\"unheard-of\"},{\"severity\":\"low\"}]}}";
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> feed(IssueDocument.TEST_RESULT, false, body, 3));
+
+    assertTrue(e.getCause() instanceof JsonParseException);
+  }
+
+  /**
+   * Delivers the body in chunks of {@code chunkSize} bytes, so that tokens are split across buffers.
+   */
+  private static SeverityCountingBodyHandler.Counted feed(IssueDocument document, boolean keepBody, String body, int chunkSize) throws Exception {
+    SeverityCountingBodyHandler.Subscriber subscriber = new SeverityCountingBodyHandler.Subscriber(document, keepBody);
+    subscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+      }
+
+      @Override
+      public void cancel() {
+      }
+    });
+    byte[] bytes = body.getBytes(UTF_8);
+    for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+      List<ByteBuffer> buffers = new ArrayList<>();
+      buffers.add(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)).slice());
+      subscriber.onNext(buffers);
+    }
+    subscriber.onComplete();
+    return subscriber.getBody().toCompletableFuture().get();
+  }
+}
@@ -3,6 +3,9 @@ package io.snyk.sdk.api;
 import io.snyk.sdk.SnykConfig;
 import org.junit.jupiter.api.Test;
 
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -72,4 +75,44 @@ public class SnykHttpRequestBuilderTest {
         .toString()
     );
   }
+
+  @Test
+  void shouldSendJsonBodyAsPost() {
+    SnykConfig config = SnykConfig.withDefaults();
+
+    HttpRequest request = SnykHttpRequestBuilder.create(config)
+      .withPath("some/endpoint")
+      .withJsonBody(Map.of("purls", List.of("pkg:npm/lodash@4.17.21")))
+      .build();
+
+    assertEquals("POST", request.method());
+    assertEquals(Optional.of("application/vnd.api+json"), request.headers().firstValue("Content-Type"));
+    assertEquals(Optional.of((long) "{\"purls\":[\"pkg:npm/lodash@4.17.21\"]}".length()), request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength));
+  }
+
+  @Test
+  void shouldSendGetWithoutBody() {
+    assertEquals("GET", SnykHttpRequestBuilder.create(SnykConfig.withDefaults()).build().method());
+  }
+
+  @Test
+  void shouldAcceptCompressedResponsesUnlessDisabled() {
+    assertEquals(Optional.of("gzip, deflate"),
+      SnykHttpRequestBuilder.create(SnykConfig.withDefaults()).build().headers().firstValue("Accept-Encoding"));
+    assertEquals(Optional.empty(),
+      SnykHttpRequestBuilder.create(SnykConfig.newBuilder().setCompression(false).build()).build().headers().firstValue("Accept-Encoding"));
+  }
+
+  @Test
+  void shouldSendValidatorAsConditionalHeaders() {
+    HttpRequest request = SnykHttpRequestBuilder.create(SnykConfig.withDefaults())
+      .withValidator(ResponseValidator.of("W/\"abc\"", "Wed, 21 Oct 2026 07:28:00 GMT"))
+      .build();
+
+    assertEquals(Optional.of("W/\"abc\""), request.headers().firstValue("If-None-Match"));
+    assertEquals(Optional.of("Wed, 21 Oct 2026 07:28:00 GMT"), request.headers().firstValue("If-Modified-Since"));
+    assertEquals(Optional.empty(), SnykHttpRequestBuilder.create(SnykConfig.withDefaults())
+      .withValidator(Optional.empty())
+      .build().headers().firstValue("If-None-Match"));
+  }
 }
@@ -0,0 +1,39 @@
+package io.snyk.sdk.api;
+
+import io.snyk.sdk.model.NotificationSettings;
+import io.snyk.sdk.model.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnykResultTest {
+
+  @Test
+  void readerFor_reusesReaderPerResultType() {
+    assertSame(SnykResult.readerFor(TestResult.class), SnykResult.readerFor(TestResult.class));
+  }
+
+  @Test
+  void createResult_ignoresUnknownProperties() throws Exception {
+    String body = "{\"ok\":true,\"dependencyCount\":3,\"somethingNew\":{\"nested\":[1,2]}}";
+
+    SnykResult<TestResult> result = SnykResult.createResult(new FakeResponse(200, Map.of(), body), TestResult.class);
+
+    assertTrue(result.isSuccessful());
+    assertTrue(result.get().orElseThrow().success);
+    assertEquals(3, result.get().orElseThrow().dependencyCount);
+  }
+
+  @Test
+  void createResult_whenNotOk_keepsBodyWithoutDecoding() throws Exception {
+    SnykResult<NotificationSettings> result = SnykResult.createResult(new FakeResponse(401, Map.of(), "unauthorized"), NotificationSettings.class);
+
+    assertFalse(result.get().isPresent());
+    assertEquals("unauthorized", result.responseAsText.orElseThrow());
+  }
+}